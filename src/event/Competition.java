@@ -9,17 +9,18 @@
 
 package event;
 
+import java.util.ArrayList;
+
 import facility.Facility;
 import main.ValidateInput;
 import member.Member;
-import staff.PartTimeStaff;
-import staff.Staff;
+import money.Money;
 import time.TimeBlock;
 
 public class Competition extends Event {
     // fields
-    private double prize;
-    private double participationCost;
+    private long prize;
+    private long participationCost;
     private Member winner;
 
     /**
@@ -33,12 +34,15 @@ public class Competition extends Event {
      * @param prize
      * @param participationCost
      */
-    public Competition(Facility facility, TimeBlock timeBlock, Member host, double prize, double participationCost) {
+    public Competition(Facility facility, TimeBlock timeBlock, Member host, long prize, long participationCost) {
         super(facility, timeBlock, host);
 
-        this.prize = prize;
-        this.participationCost = participationCost;
-        this.winner = null;
+        // the host was charged before the cost was known
+        updateCharges(() -> {
+            this.prize = prize;
+            this.participationCost = participationCost;
+            this.winner = null;
+        });
     }
 
     /**
@@ -54,13 +58,16 @@ public class Competition extends Event {
      * @param completed
      * @param winner
      */
-    public Competition(Facility facility, TimeBlock timeBlock, Member host, double prize, double participationCost,
+    public Competition(Facility facility, TimeBlock timeBlock, Member host, long prize, long participationCost,
             Member winner) {
         super(facility, timeBlock, host);
 
-        this.prize = prize;
-        this.participationCost = participationCost;
-        this.winner = winner;
+        // the host was charged before the cost was known
+        updateCharges(() -> {
+            this.prize = prize;
+            this.participationCost = participationCost;
+            this.winner = winner;
+        });
     }
 
     // accessors
@@ -68,25 +75,71 @@ public class Competition extends Event {
         return this.winner;
     }
 
-    public double getPrize() {
+    public long getPrize() {
         return this.prize;
     }
 
-    public double getParticipationCost() {
+    public long getParticipationCost() {
         return this.participationCost;
     }
 
     // mutators
-    public void setParticipationCost(double participationCost) {
-        this.participationCost = participationCost;
+    public void setParticipationCost(long participationCost) {
+        updateCharges(() -> this.participationCost = participationCost);
     }
 
-    public void setPrize(double prize) {
-        this.prize = prize;
+    public void setPrize(long prize) {
+        updateCharges(() -> this.prize = prize);
     }
 
     public void setWinner(Member member) {
-        this.winner = member;
+        updateCharges(() -> this.winner = member);
+    }
+
+    /*
+     * replaceMember
+     * also hands over the win, without changing anyone's charges
+     */
+    @Override
+    public void replaceMember(Member member, Member replacement) {
+        super.replaceMember(member, replacement);
+        if (winner == member) {
+            winner = replacement;
+        }
+    }
+
+    /**
+     * updateCharges
+     * applies a change to the cost, prize or winner and updates the running
+     * bill of every member registered for this competition.
+     * 
+     * @param change
+     */
+    private void updateCharges(Runnable change) {
+        ArrayList<Member> charged = new ArrayList<>();
+        for (Member m : participants) {
+            if (m.getRegistrations().contains(this)) {
+                charged.add(m);
+            }
+        }
+        if (host != null && !charged.contains(host) && host.getRegistrations().contains(this)) {
+            charged.add(host);
+        }
+
+        long[] charges = new long[charged.size()];
+        long[] prizes = new long[charged.size()];
+        for (int i = 0; i < charged.size(); i++) {
+            charges[i] = charged.get(i).participationCharge(this);
+            prizes[i] = charged.get(i).prizeCredit(this);
+        }
+
+        change.run();
+
+        // only the difference is charged, so the ledger records the net change
+        for (int i = 0; i < charged.size(); i++) {
+            Member m = charged.get(i);
+            m.adjustEventCharges(m.participationCharge(this) - charges[i], m.prizeCredit(this) - prizes[i]);
+        }
     }
 
     /**
@@ -97,6 +150,7 @@ public class Competition extends Event {
     @Override
     public void setCompleted() {
         completed = true;
+        facility.updateBooking(this);
         boolean valid_winner = false;
         int winner_id = 0;
 
@@ -118,25 +172,12 @@ public class Competition extends Event {
             }
         }
 
-        this.winner = main.CommunityCentreRunner.getMemberManager().searchById(winner_id);
+        setWinner(main.CommunityCentreRunner.getMemberManager().searchById(winner_id));
         System.out.println("Member has been set as the winner:");
         System.out.println(winner);
         System.out.println(); // blank line
 
-        boolean partTimeStaffFound = false;
-
-        for (Staff staff : supervising) {
-            if (staff instanceof PartTimeStaff pts) {
-                double duration = timeBlock.duration();
-                pts.setHoursWorked(pts.getHoursWorked() + duration);
-                System.out.println("Added " + duration + " to " + staff.getName() + "'s payroll.");
-                partTimeStaffFound = true;
-            }
-        }
-
-        if (partTimeStaffFound) {
-            System.out.println();
-        }
+        completeShifts();
     }
 
     /*
@@ -144,8 +185,8 @@ public class Competition extends Event {
      */
     public String toString() {
         String s = "Competition " + super.toString() +
-                " | Prize: " + prize +
-                " | Participation cost: " + String.format("$%.2f", participationCost);
+                " | Prize: " + Money.format(prize) +
+                " | Participation cost: " + Money.format(participationCost);
         if (winner != null) {
             s += " | Winner name: " + winner.getName();
         }
@@ -13,7 +13,9 @@ import java.util.ArrayList;
 
 import facility.Facility;
 import member.Member;
+import staff.PartTimeStaff;
 import staff.Staff;
+import time.Schedule;
 import time.TimeBlock;
 
 public abstract class Event {
@@ -25,6 +27,8 @@ public abstract class Event {
     protected ArrayList<Member> participants = new ArrayList<>();
     protected int id;
     protected boolean completed;
+    // the manager this event is booked in, set by EventManager.book
+    EventManager manager;
 
     /**
      * Constructor for Event;
@@ -42,10 +46,11 @@ public abstract class Event {
 
         facility.getBookings().add(this);
         if (host != null) {
-            host.getRegistrations().add(this);
+            host.registerFor(this);
         }
 
         this.completed = false;
+        facility.updateBooking(this);
         // id is set within eventManager, which will generate a unique ID for the event.
     }
 
@@ -85,13 +90,20 @@ public abstract class Event {
 
     public void setCompleted(boolean completed) {
         this.completed = completed;
+        facility.updateBooking(this);
     }
 
     public boolean setFacility(Facility facility) {
-        if (facility.getBookings().isBlockFree(timeBlock)) {
+        if (facility.getBookings().isBlockFree(timeBlock, this)) {
+            Facility oldFacility = this.facility;
             this.facility.getBookings().remove(this);
             this.facility = facility;
             this.facility.getBookings().add(this);
+            oldFacility.updateBooking(this);
+            this.facility.updateBooking(this);
+            if (manager != null) {
+                manager.facilityChanged(this, oldFacility);
+            }
             return true;
         }
 
@@ -99,39 +111,144 @@ public abstract class Event {
     }
 
     public boolean setTimeBlock(TimeBlock timeBlock) {
-        if (!facility.getBookings().isBlockFree(timeBlock)) {
-            return false;
+        return reschedule(timeBlock).isEmpty();
+    }
+
+    /**
+     * conflictsWith
+     * finds every linked entity whose schedule blocks a move to the time block.
+     * 
+     * @param timeBlock
+     * @return the conflicts, empty if the move is allowed
+     */
+    public ScheduleConflicts conflictsWith(TimeBlock timeBlock) {
+        ScheduleConflicts conflicts = new ScheduleConflicts();
+
+        if (!facility.getBookings().isBlockFree(timeBlock, this)) {
+            conflicts.setFacility(facility);
         }
-        if (!host.getRegistrations().isBlockFree(timeBlock)) {
-            return false;
+        if (host != null && !host.getRegistrations().isBlockFree(timeBlock, this)) {
+            conflicts.setHost(host);
         }
         for (Staff staff : supervising) {
-            if (!staff.getShifts().isBlockFree(timeBlock)) {
-                return false;
+            // unworked hours move with the shift, so part-time caps are checked for the new month
+            if (!staff.getShifts().isBlockFree(timeBlock, this)
+                    || (!isCompleted() && !staff.hasHoursFor(timeBlock, this))) {
+                conflicts.addStaff(staff);
             }
         }
         for (Member member : participants) {
-            if (!member.getRegistrations().isBlockFree(timeBlock)) {
-                return false;
+            if (!member.getRegistrations().isBlockFree(timeBlock, this)) {
+                conflicts.addParticipant(member);
             }
         }
 
+        return conflicts;
+    }
+
+    /**
+     * reschedule
+     * moves the event to a new time block, re-filing it in the facility's,
+     * host's, staff's and participants' schedules.
+     * Nothing is changed if any of them conflict.
+     * 
+     * @param timeBlock
+     * @return the conflicts that rejected the move, empty if it succeeded
+     */
+    public ScheduleConflicts reschedule(TimeBlock timeBlock) {
+        ScheduleConflicts conflicts = conflictsWith(timeBlock);
+        if (!conflicts.isEmpty()) {
+            return conflicts;
+        }
+
+        ArrayList<Schedule> schedules = linkedSchedules();
+
+        // take the event out while it is still filed under its old time
+        if (manager != null) {
+            manager.unindex(this);
+        }
+        for (Schedule schedule : schedules) {
+            schedule.remove(this);
+        }
+        // staff shifts also move their hours between months
+        for (Staff staff : supervising) {
+            staff.cancelShift(this);
+        }
+        facility.forgetUsage(this.timeBlock);
+
         this.timeBlock = timeBlock;
+        facility.forgetUsage(timeBlock);
 
-        return true;
+        for (Schedule schedule : schedules) {
+            schedule.add(this);
+        }
+        for (Staff staff : supervising) {
+            staff.scheduleShift(this);
+        }
+        if (manager != null) {
+            manager.index(this);
+        }
+
+        return conflicts;
+    }
+
+    /**
+     * linkedSchedules
+     * collects every facility and member schedule this event is filed in,
+     * without duplicates. Staff shifts are moved through the staff so their
+     * hours follow.
+     * 
+     * @return the schedules
+     */
+    private ArrayList<Schedule> linkedSchedules() {
+        ArrayList<Schedule> schedules = new ArrayList<>();
+        schedules.add(facility.getBookings());
+        if (host != null) {
+            schedules.add(host.getRegistrations());
+        }
+        for (Member member : participants) {
+            if (!schedules.contains(member.getRegistrations())) {
+                schedules.add(member.getRegistrations());
+            }
+        }
+
+        return schedules;
     }
 
     public boolean setHost(Member host) {
-        if (host.getRegistrations().isBlockFree(timeBlock)) {
-            this.host.getRegistrations().remove(this);
+        if (host.getRegistrations().isBlockFree(timeBlock, this)) {
+            Member oldHost = this.host;
+            if (oldHost != null) {
+                oldHost.unregisterFrom(this);
+            }
             this.host = host;
-            this.host.getRegistrations().add(this);
+            this.host.registerFor(this);
+            if (manager != null) {
+                manager.hostChanged(this, oldHost);
+            }
             return true;
         }
 
         return false;
     }
 
+    /**
+     * removeHost
+     * detaches the host from the event, leaving it without a host.
+     */
+    public void removeHost() {
+        if (host == null) {
+            return;
+        }
+
+        Member oldHost = host;
+        oldHost.unregisterFrom(this);
+        host = null;
+        if (manager != null) {
+            manager.hostChanged(this, oldHost);
+        }
+    }
+
     /**
      * equals
      * determines if two events are identical
@@ -193,11 +310,62 @@ public abstract class Event {
 
         // all conditions are valid for member to be added now
         participants.add(member);
-        member.getRegistrations().add(this);
+        member.registerFor(this);
+        facility.updateBooking(this);
+        if (manager != null) {
+            manager.participantAdded(this, member);
+        }
 
         return true;
     }
 
+    /**
+     * unregisterParticipant
+     * removes a member from the event's participants.
+     * 
+     * @param member
+     * @return whether the member was registered
+     */
+    public boolean unregisterParticipant(Member member) {
+        if (!participants.remove(member)) {
+            return false;
+        }
+
+        member.unregisterFrom(this);
+        facility.updateBooking(this);
+        if (manager != null) {
+            manager.participantRemoved(this, member);
+        }
+
+        return true;
+    }
+
+    /**
+     * replaceMember
+     * puts another member in a member's place as host or participant, without
+     * re-checking capacity or schedules (e.g. a youth promoted to an adult who
+     * keeps the same registrations). Charges are left to the caller.
+     * 
+     * @param member      the member being replaced
+     * @param replacement the member taking their place
+     */
+    public void replaceMember(Member member, Member replacement) {
+        int i = participants.indexOf(member);
+        if (i >= 0) {
+            participants.set(i, replacement);
+            if (manager != null) {
+                manager.participantRemoved(this, member);
+                manager.participantAdded(this, replacement);
+            }
+        }
+        if (host == member) {
+            host = replacement;
+            if (manager != null) {
+                manager.hostChanged(this, member);
+            }
+        }
+    }
+
     /**
      * assignStaff
      * assigns a staff member to supervise the event.
@@ -219,13 +387,51 @@ public abstract class Event {
             return false; // the staff has a conflicting time block
         }
 
+        if (!staff.hasHoursFor(timeBlock)) {
+            return false; // the shift would go over the staff's monthly hours
+        }
+
         // all conditions are valid for the staff member to be added now
         supervising.add(staff);
-        staff.getShifts().add(this);
+        staff.scheduleShift(this);
 
         return true;
     }
 
+    /**
+     * restoreStaff
+     * re-links a staff member read from file, without the monthly hours
+     * check (hours already on file may be over the cap).
+     * 
+     * @param staff
+     */
+    void restoreStaff(Staff staff) {
+        if (staff != null && !supervising.contains(staff) && staff.scheduleShift(this)) {
+            supervising.add(staff);
+        }
+    }
+
+    /**
+     * completeShifts
+     * moves the event's hours from scheduled to worked for every supervising
+     * staff member, reporting the part-time staff whose pay it adds to.
+     */
+    protected void completeShifts() {
+        boolean partTimeStaffFound = false;
+
+        for (Staff staff : supervising) {
+            staff.completeShift(this);
+            if (staff instanceof PartTimeStaff) {
+                System.out.println("Added " + timeBlock.duration() + " to " + staff.getName() + "'s payroll.");
+                partTimeStaffFound = true;
+            }
+        }
+
+        if (partTimeStaffFound) {
+            System.out.println();
+        }
+    }
+
     /**
      * setCompleted
      * sets the event to completed and does any necessary functions
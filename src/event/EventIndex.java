@@ -0,0 +1,139 @@
+/**
+ * This class maps a key (host, facility, participant, event type, ...) to the
+ * events linked to it, kept in chronological order so time ranges can be read
+ * without scanning every event.
+ *
+ * @author Mansour Abdelsalam
+ * @version 1.0
+ * @since 2025-06-14
+ */
+
+package event;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+class EventIndex<K> {
+    // postings for a single key, ordered by start time
+    private static class Postings {
+        private final TreeMap<Double, ArrayList<Event>> byStart = new TreeMap<>();
+        private int size;
+    }
+
+    // fields
+    private final HashMap<K, Postings> postings = new HashMap<>();
+
+    /**
+     * add
+     * links an event to a key, using the event's current start time.
+     *
+     * @param key
+     * @param event
+     */
+    public void add(K key, Event event) {
+        if (key == null) {
+            return;
+        }
+
+        Postings p = postings.computeIfAbsent(key, k -> new Postings());
+        ArrayList<Event> bucket = p.byStart.computeIfAbsent(event.hoursSinceEpoch(), s -> new ArrayList<>());
+
+        if (!bucket.contains(event)) {
+            bucket.add(event);
+            p.size++;
+        }
+    }
+
+    /**
+     * remove
+     * unlinks an event from a key.
+     * Must be called before the event's time block changes.
+     *
+     * @param key
+     * @param event
+     * @return whether the event was linked to the key
+     */
+    public boolean remove(K key, Event event) {
+        if (key == null) {
+            return false;
+        }
+
+        Postings p = postings.get(key);
+        if (p == null) {
+            return false;
+        }
+
+        double start = event.hoursSinceEpoch();
+        ArrayList<Event> bucket = p.byStart.get(start);
+        if (bucket == null || !bucket.remove(event)) {
+            return false;
+        }
+
+        if (bucket.isEmpty()) {
+            p.byStart.remove(start);
+        }
+        if (--p.size == 0) {
+            postings.remove(key);
+        }
+
+        return true;
+    }
+
+    /**
+     * size
+     * the number of events linked to a key.
+     *
+     * @param key
+     * @return the count
+     */
+    public int size(K key) {
+        Postings p = postings.get(key);
+        return p == null ? 0 : p.size;
+    }
+
+    /**
+     * within
+     * returns the events linked to a key which start within [from, to),
+     * in chronological order.
+     *
+     * @param key
+     * @param from hours since epoch, inclusive
+     * @param to   hours since epoch, exclusive
+     * @return the matching events
+     */
+    public ArrayList<Event> within(K key, double from, double to) {
+        ArrayList<Event> found = new ArrayList<>();
+        Postings p = postings.get(key);
+
+        if (p == null || from >= to) {
+            return found;
+        }
+
+        for (Map.Entry<Double, ArrayList<Event>> e : p.byStart.subMap(from, true, to, false).entrySet()) {
+            found.addAll(e.getValue());
+        }
+
+        return found;
+    }
+
+    /**
+     * all
+     * returns every event linked to a key, in chronological order.
+     *
+     * @param key
+     * @return the linked events
+     */
+    public ArrayList<Event> all(K key) {
+        return within(key, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * clear
+     * removes every posting.
+     */
+    public void clear() {
+        postings.clear();
+    }
+}
@@ -15,17 +15,33 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 
 import facility.Facility;
+import member.BillingLedger;
 import member.Member;
+import money.Money;
 import staff.Staff;
 import time.TimeBlock;
 import time.TimeBlock.Month;
 
 public class EventManager {
+    // occurrences shown for each series in the series listing
+    public static final int SERIES_UPCOMING = 4;
+
     // fields
     private ArrayList<Event> events;
 
+    // secondary indexes, kept in sync by book, cancel and the Event mutators
+    private final EventIndex<Member> byHost = new EventIndex<>();
+    private final EventIndex<Facility> byFacility = new EventIndex<>();
+    private final EventIndex<Class<? extends Event>> byType = new EventIndex<>();
+    private final EventIndex<Member> byParticipant = new EventIndex<>();
+
+    // recurring series, and the series each occurrence event was made from
+    private ArrayList<EventSeries> series = new ArrayList<>();
+    private final IdentityHashMap<Event, EventSeries> occurrenceOf = new IdentityHashMap<>();
+
     /**
      * Constructor for EventManager;
      * creates an EventManager.
@@ -45,6 +61,10 @@ public class EventManager {
     public EventManager(String filePath) {
         events = new ArrayList<>();
 
+        // registrations are being replayed, their charges are already in the ledger
+        BillingLedger ledger = main.CommunityCentreRunner.getMemberManager().getLedger();
+        ledger.setRecording(false);
+
         try {
             BufferedReader reader = new BufferedReader(new FileReader(filePath));
 
@@ -53,17 +73,17 @@ public class EventManager {
             for (int i = 0; i < numEvents; i++) {
                 String eventType = reader.readLine().trim().toLowerCase();
 
-                double prize = 0;
-                double goal = 0;
-                double participationCost = 0;
+                long prize = 0;
+                long goal = 0;
+                long participationCost = 0;
                 int winnerId = 0;
 
                 if (eventType.equals("competition")) {
-                    prize = Double.parseDouble(reader.readLine().trim());
-                    participationCost = Double.parseDouble(reader.readLine().trim());
+                    prize = Money.parse(reader.readLine());
+                    participationCost = Money.parse(reader.readLine());
                     winnerId = Integer.parseInt(reader.readLine());
                 } else if (eventType.equals("fundraiser")) {
-                    goal = Double.parseDouble(reader.readLine().trim());
+                    goal = Money.parse(reader.readLine());
                 }
 
                 int facilityId = Integer.parseInt(reader.readLine().trim());
@@ -95,7 +115,7 @@ public class EventManager {
                 facility.getBookings().add(event);
 
                 if (host != null)
-                    host.getRegistrations().add(event);
+                    host.registerFor(event);
 
                 // check if the event has been completed
                 if (timeBlock.compareToEnd(main.CommunityCentreRunner.getTimeManager().getCurrentTime()) > 0) {
@@ -107,7 +127,7 @@ public class EventManager {
                 for (int j = 0; j < numStaffSupervising; j++) {
                     Staff staff = main.CommunityCentreRunner.getStaffManager()
                             .searchById(Integer.parseInt(reader.readLine().trim()));
-                    event.assignStaff(staff);
+                    event.restoreStaff(staff);
                 }
 
                 int numParticipants = Integer.parseInt(reader.readLine().trim());
@@ -124,6 +144,8 @@ public class EventManager {
         } catch (IOException iox) {
             System.out.println("Error reading event file: " + iox.getMessage());
         }
+
+        ledger.setRecording(true);
     }
 
     // accessors
@@ -146,8 +168,8 @@ public class EventManager {
             for (Event event : events) {
                 if (event instanceof Competition c) {
                     writer.write("competition\n");
-                    writer.write(c.getPrize() + "\n");
-                    writer.write(c.getParticipationCost() + "\n");
+                    writer.write(Money.toPlainString(c.getPrize()) + "\n");
+                    writer.write(Money.toPlainString(c.getParticipationCost()) + "\n");
                     if (c.getWinner() != null) {
                         writer.write(c.getWinner().getId() + "\n");
                     } else {
@@ -155,7 +177,7 @@ public class EventManager {
                     }
                 } else if (event instanceof Fundraiser f) {
                     writer.write("fundraiser\n");
-                    writer.write(f.getGoal() + "\n");
+                    writer.write(Money.toPlainString(f.getGoal()) + "\n");
                 }
 
                 writer.write(event.getFacility().getId() + "\n");
@@ -195,13 +217,165 @@ public class EventManager {
     public void book(Event event) {
         event.setId(generateId());
         events.add(event);
+        event.manager = this;
+        index(event);
     }
 
     /**
      * Removes the given event from the EventManager without cleanup.
      */
     public boolean removeEvent(Event event) {
-        return events.remove(event);
+        if (!events.remove(event)) {
+            return false;
+        }
+
+        unindex(event);
+        event.manager = null;
+        return true;
+    }
+
+    /**
+     * index
+     * adds an event to every secondary index.
+     * 
+     * @param event
+     */
+    void index(Event event) {
+        byHost.add(event.getHost(), event);
+        byFacility.add(event.getFacility(), event);
+        byType.add(event.getClass(), event);
+        for (Member m : event.getParticipants()) {
+            byParticipant.add(m, event);
+        }
+    }
+
+    /**
+     * unindex
+     * removes an event from every secondary index.
+     * Must be called before the event's time block changes.
+     * 
+     * @param event
+     */
+    void unindex(Event event) {
+        byHost.remove(event.getHost(), event);
+        byFacility.remove(event.getFacility(), event);
+        byType.remove(event.getClass(), event);
+        for (Member m : event.getParticipants()) {
+            byParticipant.remove(m, event);
+        }
+    }
+
+    // index hooks called by Event's mutators
+    void hostChanged(Event event, Member oldHost) {
+        byHost.remove(oldHost, event);
+        byHost.add(event.getHost(), event);
+    }
+
+    void facilityChanged(Event event, Facility oldFacility) {
+        byFacility.remove(oldFacility, event);
+        byFacility.add(event.getFacility(), event);
+    }
+
+    void participantAdded(Event event, Member member) {
+        byParticipant.add(member, event);
+    }
+
+    void participantRemoved(Event event, Member member) {
+        byParticipant.remove(member, event);
+    }
+
+    /**
+     * query
+     * finds events matching every given criterion, starting between two times.
+     * Any criterion may be null to match everything. The most selective index
+     * is read first and the remaining criteria are checked on its events.
+     * 
+     * @param host        the hosting member
+     * @param facility    the booked facility
+     * @param type        the event type (Competition.class, Fundraiser.class)
+     * @param participant a registered member
+     * @param from        the earliest start (inclusive), or null
+     * @param to          events must start before the end of this block, or null
+     * @return the matching events in chronological order
+     */
+    public ArrayList<Event> query(Member host, Facility facility, Class<? extends Event> type, Member participant,
+            TimeBlock from, TimeBlock to) {
+        double lo = (from == null) ? Double.NEGATIVE_INFINITY : from.hoursSinceEpoch();
+        double hi = (to == null) ? Double.POSITIVE_INFINITY : to.getEndBlock().hoursSinceEpoch();
+
+        // pick the smallest posting list among the given criteria
+        ArrayList<Event> candidates = null;
+        int best = Integer.MAX_VALUE;
+
+        if (host != null && byHost.size(host) < best) {
+            best = byHost.size(host);
+            candidates = byHost.within(host, lo, hi);
+        }
+        if (facility != null && byFacility.size(facility) < best) {
+            best = byFacility.size(facility);
+            candidates = byFacility.within(facility, lo, hi);
+        }
+        if (type != null && byType.size(type) < best) {
+            best = byType.size(type);
+            candidates = byType.within(type, lo, hi);
+        }
+        if (participant != null && byParticipant.size(participant) < best) {
+            best = byParticipant.size(participant);
+            candidates = byParticipant.within(participant, lo, hi);
+        }
+
+        // no criteria, fall back to every event
+        if (candidates == null) {
+            candidates = new ArrayList<>();
+            for (Event event : events) {
+                double start = event.hoursSinceEpoch();
+                if (start >= lo && start < hi) {
+                    candidates.add(event);
+                }
+            }
+            candidates.sort(Comparator.comparingDouble(Event::hoursSinceEpoch));
+        }
+
+        ArrayList<Event> found = new ArrayList<>();
+        for (Event event : candidates) {
+            if (host != null && event.getHost() != host) {
+                continue;
+            }
+            if (facility != null && event.getFacility() != facility) {
+                continue;
+            }
+            if (type != null && !type.isInstance(event)) {
+                continue;
+            }
+            if (participant != null && !event.getParticipants().contains(participant)) {
+                continue;
+            }
+            found.add(event);
+        }
+
+        return found;
+    }
+
+    /**
+     * understaffedEvents
+     * finds upcoming events with fewer than a number of staff supervising,
+     * starting from now until the end of a time block.
+     * 
+     * @param perEvent staff wanted per event
+     * @param to       the last day to include
+     * @return the events in chronological order
+     */
+    public ArrayList<Event> understaffedEvents(int perEvent, TimeBlock to) {
+        TimeBlock now = main.CommunityCentreRunner.getTimeManager().getCurrentTime();
+        ArrayList<Event> found = new ArrayList<>();
+
+        for (Event event : query(null, null, null, null, now, to)) {
+            if (!event.isCompleted() && event.getSupervising().size() < perEvent) {
+                found.add(event);
+            }
+        }
+
+        return found;
     }
 
     /**
@@ -297,6 +471,15 @@ public class EventManager {
             }
         }
 
+        // series occurrences are expanded only for this window
+        double now = main.CommunityCentreRunner.getTimeManager().getCurrentTime().hoursSinceEpoch();
+        for (EventSeries s : series) {
+            for (TimeBlock occurrence : s.occurrencesBetween(now, time.hoursSinceEpoch())) {
+                found = true;
+                System.out.println(s.toOccurrenceString(occurrence));
+            }
+        }
+
         return found;
     }
 
@@ -411,21 +594,54 @@ public class EventManager {
         if (event == null)
             return false;
 
-        events.remove(event);
+        removeEvent(event);
 
         // ← copy into ArrayList
         ArrayList<Member> participants = new ArrayList<>(event.getParticipants());
         ArrayList<Staff> staffSupervising = new ArrayList<>(event.getSupervising());
 
         for (Member m : participants) {
-            m.getRegistrations().remove(event);
+            m.unregisterFrom(event);
         }
         for (Staff s : staffSupervising) {
-            s.getShifts().remove(event);
+            s.cancelShift(event);
+        }
+        if (event.getHost() != null) {
+            event.getHost().unregisterFrom(event);
+        }
+        event.getFacility().getBookings().remove(event);
+        event.getFacility().updateBooking(event);
+
+        // a cancelled occurrence stays off its series
+        EventSeries s = occurrenceOf.remove(event);
+        if (s != null) {
+            s.occurrenceCancelled(event);
         }
         return true;
     }
 
+    /**
+     * detachMember
+     * removes a member from every event they host or participate in.
+     * Only the member's own events are visited.
+     * 
+     * @param member
+     */
+    public void detachMember(Member member) {
+        for (Event event : byParticipant.all(member)) {
+            event.unregisterParticipant(member);
+        }
+        for (Event event : byHost.all(member)) {
+            event.removeHost();
+        }
+        for (EventSeries s : series) {
+            if (s.getHost() == member) {
+                member.getRegistrations().removeRecurring(s);
+                s.setHost(null);
+            }
+        }
+    }
+
     /**
      * prints all events which happen within the time block
      * 
@@ -442,9 +658,324 @@ public class EventManager {
             }
         }
 
+        double dayStart = timeBlock.hoursSinceEpoch() - timeBlock.getStartHour();
+        for (EventSeries s : series) {
+            for (TimeBlock occurrence : s.occurrencesBetween(dayStart, dayStart + TimeBlock.HOURS_IN_DAY)) {
+                if (occurrence.isConflicting(timeBlock)) {
+                    System.out.println(s.toOccurrenceString(occurrence));
+                    found = true;
+                }
+            }
+        }
+
         return found;
     }
 
+    /**
+     * bookSeries
+     * adds a recurring series, holding its occurrences in the facility's
+     * bookings and the host's registrations. Nothing is booked if any
+     * occurrence is blocked.
+     * 
+     * @param s
+     * @return the blocked occurrences, empty if the series was booked
+     */
+    public ArrayList<TimeBlock> bookSeries(EventSeries s) {
+        ArrayList<TimeBlock> conflicts = s.findConflicts();
+        if (!conflicts.isEmpty()) {
+            return conflicts;
+        }
+
+        s.setId(generateSeriesId());
+        fileSeries(s);
+        return conflicts;
+    }
+
+    /**
+     * fileSeries
+     * adds a series to the manager and its schedules without checking them.
+     * 
+     * @param s
+     */
+    private void fileSeries(EventSeries s) {
+        series.add(s);
+        s.manager = this;
+        s.getFacility().getBookings().addRecurring(s);
+        if (s.getHost() != null) {
+            s.getHost().getRegistrations().addRecurring(s);
+        }
+        for (Event event : s.getMaterialized()) {
+            occurrenceOf.put(event, s);
+        }
+    }
+
+    /**
+     * cancelSeries
+     * cancels a series' remaining occurrences. Occurrences already made into
+     * events are kept as events.
+     * 
+     * @param id
+     * @return whether the series was found
+     */
+    public boolean cancelSeries(int id) {
+        EventSeries s = searchSeriesById(id);
+        if (s == null) {
+            return false;
+        }
+
+        series.remove(s);
+        s.manager = null;
+        s.getFacility().getBookings().removeRecurring(s);
+        if (s.getHost() != null) {
+            s.getHost().getRegistrations().removeRecurring(s);
+        }
+        for (Event event : s.getMaterialized()) {
+            occurrenceOf.remove(event);
+        }
+        return true;
+    }
+
+    // hook called when a series makes an occurrence into an event
+    void occurrenceBooked(EventSeries s, Event event) {
+        occurrenceOf.put(event, s);
+    }
+
+    /**
+     * registerForOccurrence
+     * registers a member for one upcoming occurrence of a series, making it an
+     * event first if needed. The member is checked before the occurrence is
+     * made into an event, so a failed registration leaves it as it was.
+     * 
+     * @param s
+     * @param date   the day of the occurrence
+     * @param member
+     * @return whether the member was registered
+     */
+    public boolean registerForOccurrence(EventSeries s, TimeBlock date, Member member) {
+        TimeBlock occurrence = s.occurrenceOn(date);
+        TimeBlock now = main.CommunityCentreRunner.getTimeManager().getCurrentTime();
+        if (member == null || occurrence == null || occurrence.hoursSinceEpoch() < now.hoursSinceEpoch()) {
+            return false;
+        }
+
+        Event event = s.getEvent(date);
+        if (event != null) {
+            return event.registerParticipant(member);
+        }
+
+        // the host holds every occurrence already, and an empty event must have room
+        if (s.isSkipped(date) || member == s.getHost() || s.getFacility().getMaxCapacity() < 1
+                || !member.getRegistrations().isBlockFree(occurrence)) {
+            return false;
+        }
+
+        event = s.materialize(date);
+        if (event == null) {
+            return false;
+        }
+        if (!event.registerParticipant(member)) {
+            // drop the new event, leaving the occurrence on the series
+            s.dematerialize(event);
+            occurrenceOf.remove(event);
+            cancelEvent(event.getId());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * searchSeriesById
+     * searches for a series by ID
+     * 
+     * @param id
+     * @return the series with the ID, null if not found
+     */
+    public EventSeries searchSeriesById(int id) {
+        for (EventSeries s : series) {
+            if (s.getId() == id) {
+                return s;
+            }
+        }
+        return null;
+    }
+
+    // generates a unique series ID
+    private int generateSeriesId() {
+        int maxId = -1;
+
+        for (EventSeries s : series) {
+            maxId = Math.max(maxId, s.getId());
+        }
+        return maxId + 1;
+    }
+
+    /**
+     * printAllSeries
+     * prints every series with its next occurrences.
+     * 
+     * @param upcoming how many occurrences to show for each
+     * @return whether any series were printed
+     */
+    public boolean printAllSeries(int upcoming) {
+        if (series.isEmpty()) {
+            return false;
+        }
+
+        double now = main.CommunityCentreRunner.getTimeManager().getCurrentTime().hoursSinceEpoch();
+        for (EventSeries s : series) {
+            System.out.println(s);
+            // look ahead a year from the next occurrence, a month at a time,
+            // until enough are found
+            double start = Math.max(now, s.getFirst().hoursSinceEpoch());
+            int shown = 0;
+            for (int month = 0; month < 12 && shown < upcoming; month++) {
+                double from = start + month * 31.0 * TimeBlock.HOURS_IN_DAY;
+                for (TimeBlock occurrence : s.occurrencesBetween(from, from + 31.0 * TimeBlock.HOURS_IN_DAY)) {
+                    if (shown++ < upcoming) {
+                        System.out.println(" - " + occurrence);
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * loadSeries
+     * reads the recurring series from a text file. Must be called after the
+     * events are loaded, so occurrences made into events can be re-linked.
+     * 
+     * @param filePath
+     */
+    public void loadSeries(String filePath) {
+        try {
+            BufferedReader reader = new BufferedReader(new FileReader(filePath));
+
+            int numSeries = Integer.parseInt(reader.readLine().trim());
+            for (int i = 0; i < numSeries; i++) {
+                int id = Integer.parseInt(reader.readLine().trim());
+                String eventType = reader.readLine().trim().toLowerCase();
+                long prize = Money.parse(reader.readLine());
+                long participationCost = Money.parse(reader.readLine());
+                long goal = Money.parse(reader.readLine());
+                Facility facility = main.CommunityCentreRunner.getFacilityManager()
+                        .searchById(Integer.parseInt(reader.readLine().trim()));
+                Member host = main.CommunityCentreRunner.getMemberManager()
+                        .searchById(Integer.parseInt(reader.readLine().trim()));
+                EventSeries.Frequency frequency = EventSeries.Frequency.valueOf(reader.readLine().trim());
+                int interval = Integer.parseInt(reader.readLine().trim());
+                TimeBlock first = readDay(reader);
+                first = new TimeBlock(first, Double.parseDouble(reader.readLine().trim()),
+                        Double.parseDouble(reader.readLine().trim()));
+                TimeBlock last = readDay(reader);
+
+                EventSeries s = new EventSeries(eventType.equals("competition") ? Competition.class : Fundraiser.class,
+                        facility, host, first, last, frequency, interval, prize, participationCost, goal);
+                s.setId(id);
+
+                int numSkipped = Integer.parseInt(reader.readLine().trim());
+                for (int j = 0; j < numSkipped; j++) {
+                    s.restoreSkipped(readDay(reader));
+                }
+
+                // occurrences made into events are found by their booking; one
+                // whose event has since moved stays off the series
+                int numMaterialized = Integer.parseInt(reader.readLine().trim());
+                for (int j = 0; j < numMaterialized; j++) {
+                    TimeBlock day = readDay(reader);
+                    TimeBlock occurrence = s.occurrenceOn(day);
+                    Event found = null;
+                    if (occurrence != null && facility != null) {
+                        for (Event event : facility.getBookings().eventsWithin(new TimeBlock(occurrence,
+                                occurrence.getStartHour(), 0.5))) {
+                            if (event.hoursSinceEpoch() == occurrence.hoursSinceEpoch()) {
+                                found = event;
+                            }
+                        }
+                    }
+                    if (found != null) {
+                        s.restore(found);
+                    } else {
+                        s.restoreSkipped(day);
+                    }
+                }
+
+                if (facility != null) {
+                    fileSeries(s);
+                }
+            }
+
+            reader.close();
+        } catch (IOException iox) {
+            System.out.println("Error reading series file: " + iox.getMessage());
+        }
+    }
+
+    // reads a day written as month, day and year lines
+    private static TimeBlock readDay(BufferedReader reader) throws IOException {
+        Month month = Month.valueOf(reader.readLine().trim());
+        int day = Integer.parseInt(reader.readLine().trim());
+        int year = Integer.parseInt(reader.readLine().trim());
+        return new TimeBlock(year, month, day);
+    }
+
+    /**
+     * saveSeries
+     * saves the recurring series to a text file.
+     * 
+     * @param filePath
+     */
+    public void saveSeries(String filePath) {
+        try {
+            BufferedWriter writer = new BufferedWriter(new FileWriter(filePath));
+
+            writer.write(series.size() + "\n");
+            for (EventSeries s : series) {
+                writer.write(s.getId() + "\n");
+                writer.write((s.getType() == Competition.class ? "competition" : "fundraiser") + "\n");
+                writer.write(Money.toPlainString(s.getPrize()) + "\n");
+                writer.write(Money.toPlainString(s.getParticipationCost()) + "\n");
+                writer.write(Money.toPlainString(s.getGoal()) + "\n");
+                writer.write(s.getFacility().getId() + "\n");
+                writer.write((s.getHost() != null ? s.getHost().getId() : -1) + "\n");
+                writer.write(s.getFrequency() + "\n");
+                writer.write(s.getInterval() + "\n");
+                writeDay(writer, s.getFirst());
+                writer.write(s.getFirst().getStartHour() + "\n");
+                writer.write(s.getFirst().duration() + "\n");
+                writeDay(writer, s.getLast());
+
+                ArrayList<TimeBlock> skippedDays = s.skippedDays();
+                writer.write(skippedDays.size() + "\n");
+                for (TimeBlock day : skippedDays) {
+                    writeDay(writer, day);
+                }
+                ArrayList<TimeBlock> materializedDays = s.materializedDays();
+                writer.write(materializedDays.size() + "\n");
+                for (TimeBlock day : materializedDays) {
+                    writeDay(writer, day);
+                }
+            }
+
+            writer.close();
+        } catch (IOException iox) {
+            System.out.println("Error writing to series file: " + iox.getMessage());
+        }
+    }
+
+    // writes a day as month, day and year lines
+    private static void writeDay(BufferedWriter writer, TimeBlock day) throws IOException {
+        writer.write(day.getMonth() + "\n");
+        writer.write(day.getDay() + "\n");
+        writer.write(day.getYear() + "\n");
+    }
+
+    // accessor for series
+    public ArrayList<EventSeries> getSeries() {
+        return series;
+    }
+
     // accessor for events
     public ArrayList<Event> getEvents() {
         return events;
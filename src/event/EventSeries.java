@@ -0,0 +1,460 @@
+/**
+ * This class represents a recurring series of events, e.g. a weekly league.
+ * The series is stored once as a rule: a first occurrence, a last day, and a
+ * weekly or monthly repeat, with days skipped as exceptions. Occurrences are
+ * worked out only for the times being checked or listed, and an occurrence
+ * becomes a real event only once someone registers for it.
+ *
+ * @author Mansour Abdelsalam
+ * @version 1.0
+ * @since 2025-06-14
+ */
+
+package event;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import facility.Facility;
+import member.Member;
+import money.Money;
+import time.Recurring;
+import time.TimeBlock;
+
+public class EventSeries implements Recurring {
+    public enum Frequency {
+        WEEKLY, MONTHLY
+    }
+
+    // fields
+    private int id;
+    private final Class<? extends Event> type;
+    private final Facility facility;
+    private Member host;
+    private final TimeBlock first;
+    private final TimeBlock last;
+    private final Frequency frequency;
+    private final int interval;
+    private final long prize;
+    private final long participationCost;
+    private final long goal;
+    // days skipped, as days since epoch
+    private final HashSet<Integer> skipped = new HashSet<>();
+    // occurrences made into events, by days since epoch
+    private final HashMap<Integer, Event> materialized = new HashMap<>();
+    // the manager this series is booked in, set by EventManager.bookSeries
+    EventManager manager;
+
+    /**
+     * Constructor for EventSeries;
+     * creates a series given information.
+     * Host can be null to represent no host.
+     *
+     * @param type              Competition.class or Fundraiser.class
+     * @param facility
+     * @param host
+     * @param first             the first occurrence, with its hours
+     * @param last              the last day an occurrence may fall on
+     * @param frequency
+     * @param interval          repeat every this many weeks or months
+     * @param prize             competitions only
+     * @param participationCost competitions only
+     * @param goal              fundraisers only
+     */
+    public EventSeries(Class<? extends Event> type, Facility facility, Member host, TimeBlock first, TimeBlock last,
+            Frequency frequency, int interval, long prize, long participationCost, long goal) {
+        this.type = type;
+        this.facility = facility;
+        this.host = host;
+        this.first = first;
+        this.last = last;
+        this.frequency = frequency;
+        this.interval = Math.max(interval, 1);
+        this.prize = prize;
+        this.participationCost = participationCost;
+        this.goal = goal;
+    }
+
+    // accessors
+    public int getId() {
+        return this.id;
+    }
+
+    public Class<? extends Event> getType() {
+        return this.type;
+    }
+
+    public Facility getFacility() {
+        return this.facility;
+    }
+
+    public Member getHost() {
+        return this.host;
+    }
+
+    public TimeBlock getFirst() {
+        return this.first;
+    }
+
+    public TimeBlock getLast() {
+        return this.last;
+    }
+
+    public Frequency getFrequency() {
+        return this.frequency;
+    }
+
+    public int getInterval() {
+        return this.interval;
+    }
+
+    public long getPrize() {
+        return this.prize;
+    }
+
+    public long getParticipationCost() {
+        return this.participationCost;
+    }
+
+    public long getGoal() {
+        return this.goal;
+    }
+
+    public Collection<Event> getMaterialized() {
+        return this.materialized.values();
+    }
+
+    // mutators
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    void setHost(Member host) {
+        this.host = host;
+    }
+
+    /**
+     * dayOf
+     * the day a time falls on, as days since epoch
+     *
+     * @param timeBlock
+     * @return the day
+     */
+    static int dayOf(TimeBlock timeBlock) {
+        return (int) Math.floor(timeBlock.hoursSinceEpoch() / TimeBlock.HOURS_IN_DAY);
+    }
+
+    /**
+     * occurrencesBetween
+     * finds the occurrences starting within [from, to) that are neither skipped
+     * nor made into events. Only the repeats inside the range are visited.
+     *
+     * @param from hours since epoch, inclusive
+     * @param to   hours since epoch, exclusive
+     * @return the occurrences in chronological order
+     */
+    @Override
+    public ArrayList<TimeBlock> occurrencesBetween(double from, double to) {
+        ArrayList<TimeBlock> occurrences = new ArrayList<>();
+        for (TimeBlock occurrence : allOccurrencesBetween(from, to)) {
+            int day = dayOf(occurrence);
+            if (!skipped.contains(day) && !materialized.containsKey(day)) {
+                occurrences.add(occurrence);
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * allOccurrencesBetween
+     * finds every occurrence of the rule starting within [from, to), including
+     * skipped and materialized ones.
+     *
+     * @param from hours since epoch, inclusive
+     * @param to   hours since epoch, exclusive
+     * @return the occurrences in chronological order
+     */
+    private ArrayList<TimeBlock> allOccurrencesBetween(double from, double to) {
+        ArrayList<TimeBlock> occurrences = new ArrayList<>();
+        double startHour = first.getStartHour();
+        int firstDay = dayOf(first);
+        int lastDay = dayOf(last);
+
+        from = Math.max(from, first.hoursSinceEpoch());
+        to = Math.min(to, (lastDay + 1.0) * TimeBlock.HOURS_IN_DAY);
+        if (from >= to) {
+            return occurrences;
+        }
+
+        if (frequency == Frequency.WEEKLY) {
+            int step = 7 * interval;
+            // the first repeat starting at or after from
+            int fromDay = (int) Math.ceil((from - startHour) / TimeBlock.HOURS_IN_DAY);
+            int k = Math.max(0, Math.floorDiv(fromDay - firstDay + step - 1, step));
+            for (int day = firstDay + k * step; day * (double) TimeBlock.HOURS_IN_DAY + startHour < to; day += step) {
+                occurrences.add(onDay(TimeBlock.fromHoursSinceEpoch(day * (double) TimeBlock.HOURS_IN_DAY)));
+            }
+        } else {
+            int firstMonth = monthKey(first);
+            int fromMonth = monthKey(TimeBlock.fromHoursSinceEpoch(from));
+            int k = Math.max(0, Math.floorDiv(fromMonth - firstMonth + interval - 1, interval));
+            for (int month = firstMonth + k * interval;; month += interval) {
+                int year = month / 12;
+                TimeBlock.Month m = TimeBlock.Month.values()[month % 12];
+                if (new TimeBlock(year, m, 1).hoursSinceEpoch() >= to) {
+                    break;
+                }
+                // months too short for the day are skipped
+                int daysInMonth = TimeBlock.DAYS_IN_MONTH.get(m)
+                        + (m == TimeBlock.Month.FEB && TimeBlock.isLeapYear(year) ? 1 : 0);
+                if (first.getDay() > daysInMonth) {
+                    continue;
+                }
+                TimeBlock occurrence = new TimeBlock(year, m, first.getDay(), startHour, first.duration());
+                double start = occurrence.hoursSinceEpoch();
+                if (start >= from && start < to) {
+                    occurrences.add(occurrence);
+                }
+            }
+        }
+
+        return occurrences;
+    }
+
+    /**
+     * onDay
+     * the occurrence's time block on a day
+     *
+     * @param day
+     * @return the time block
+     */
+    private TimeBlock onDay(TimeBlock day) {
+        return new TimeBlock(day.getYear(), day.getMonth(), day.getDay(), first.getStartHour(), first.duration());
+    }
+
+    // key of the month a date falls in
+    private static int monthKey(TimeBlock date) {
+        return date.getYear() * 12 + date.getMonth().ordinal();
+    }
+
+    /**
+     * occurrenceOn
+     * finds the rule's occurrence on a day.
+     *
+     * @param date
+     * @return the occurrence, or null if the rule has none that day
+     */
+    public TimeBlock occurrenceOn(TimeBlock date) {
+        double dayStart = (double) dayOf(date) * TimeBlock.HOURS_IN_DAY;
+        ArrayList<TimeBlock> found = allOccurrencesBetween(dayStart, dayStart + TimeBlock.HOURS_IN_DAY);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /**
+     * isSkipped
+     * determines if the occurrence on a day was skipped.
+     *
+     * @param date
+     * @return whether it was skipped
+     */
+    public boolean isSkipped(TimeBlock date) {
+        return skipped.contains(dayOf(date));
+    }
+
+    /**
+     * getEvent
+     * finds the event an occurrence was made into.
+     *
+     * @param date
+     * @return the event, or null if the occurrence is not an event yet
+     */
+    public Event getEvent(TimeBlock date) {
+        return materialized.get(dayOf(date));
+    }
+
+    /**
+     * skip
+     * drops the occurrence on a day. Occurrences that are already events are
+     * cancelled as events instead.
+     *
+     * @param date
+     * @return whether an occurrence was skipped
+     */
+    public boolean skip(TimeBlock date) {
+        int day = dayOf(date);
+        if (occurrenceOn(date) == null || materialized.containsKey(day)) {
+            return false;
+        }
+        return skipped.add(day);
+    }
+
+    /**
+     * materialize
+     * makes the occurrence on a day into an event booked in the manager, so
+     * members can register for it. An occurrence that is already an event
+     * gives that event.
+     *
+     * @param date
+     * @return the event, or null if there is no occurrence that day
+     */
+    public Event materialize(TimeBlock date) {
+        int day = dayOf(date);
+        if (materialized.containsKey(day)) {
+            return materialized.get(day);
+        }
+
+        TimeBlock occurrence = occurrenceOn(date);
+        if (occurrence == null || skipped.contains(day)) {
+            return null;
+        }
+
+        // release the time first, so the event can be filed in its place
+        materialized.put(day, null);
+        Event event = (type == Competition.class)
+                ? new Competition(facility, occurrence, host, prize, participationCost)
+                : new Fundraiser(facility, occurrence, host, goal);
+        materialized.put(day, event);
+        if (manager != null) {
+            manager.book(event);
+            manager.occurrenceBooked(this, event);
+        }
+
+        return event;
+    }
+
+    /**
+     * restore
+     * re-links an occurrence to the event it was made into, read from file.
+     *
+     * @param event
+     */
+    void restore(Event event) {
+        materialized.put(dayOf(event.getTimeBlock()), event);
+    }
+
+    /**
+     * dematerialize
+     * turns an occurrence made into an event back into a plain occurrence,
+     * without skipping its day. The event must be cancelled separately.
+     *
+     * @param event
+     */
+    void dematerialize(Event event) {
+        materialized.values().remove(event);
+    }
+
+    /**
+     * restoreSkipped
+     * re-marks a skipped day read from file.
+     *
+     * @param date
+     */
+    void restoreSkipped(TimeBlock date) {
+        skipped.add(dayOf(date));
+    }
+
+    /**
+     * skippedDays
+     * the skipped days, for saving
+     *
+     * @return the days as time blocks
+     */
+    ArrayList<TimeBlock> skippedDays() {
+        ArrayList<TimeBlock> days = new ArrayList<>();
+        for (int day : skipped) {
+            days.add(TimeBlock.fromHoursSinceEpoch((double) day * TimeBlock.HOURS_IN_DAY));
+        }
+        return days;
+    }
+
+    /**
+     * materializedDays
+     * the days of the occurrences made into events, for saving
+     *
+     * @return the days as time blocks
+     */
+    ArrayList<TimeBlock> materializedDays() {
+        ArrayList<TimeBlock> days = new ArrayList<>();
+        for (int day : materialized.keySet()) {
+            days.add(TimeBlock.fromHoursSinceEpoch((double) day * TimeBlock.HOURS_IN_DAY));
+        }
+        return days;
+    }
+
+    /**
+     * occurrenceCancelled
+     * keeps a cancelled occurrence's day from coming back as an occurrence.
+     *
+     * @param event
+     */
+    void occurrenceCancelled(Event event) {
+        // the event may have been moved off its occurrence's day
+        materialized.entrySet().removeIf(e -> {
+            if (e.getValue() == event) {
+                skipped.add(e.getKey());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * findConflicts
+     * finds every occurrence blocked by the facility's bookings or the host's
+     * registrations.
+     *
+     * @return the blocked occurrences
+     */
+    public ArrayList<TimeBlock> findConflicts() {
+        ArrayList<TimeBlock> conflicts = new ArrayList<>();
+        double to = (dayOf(last) + 1.0) * TimeBlock.HOURS_IN_DAY;
+
+        for (TimeBlock occurrence : occurrencesBetween(first.hoursSinceEpoch(), to)) {
+            if (!facility.getBookings().isBlockFree(occurrence)
+                    || (host != null && !host.getRegistrations().isBlockFree(occurrence))) {
+                conflicts.add(occurrence);
+            }
+        }
+
+        return conflicts;
+    }
+
+    /**
+     * toOccurrenceString
+     * describes one occurrence of the series.
+     *
+     * @param occurrence
+     * @return the description
+     */
+    public String toOccurrenceString(TimeBlock occurrence) {
+        String s = (type == Competition.class ? "Competition" : "Fundraiser") + " Series #" + id
+                + " | Room number: " + facility.getRoomNum()
+                + " | Time: " + occurrence;
+        if (host != null) {
+            s += " | Host: " + host.getName();
+        }
+        return s;
+    }
+
+    /*
+     * toString
+     */
+    public String toString() {
+        String s = (type == Competition.class ? "Competition" : "Fundraiser") + " Series #" + id
+                + " | Room number: " + facility.getRoomNum()
+                + " | " + (interval == 1 ? "" : "Every " + interval + " ")
+                + (frequency == Frequency.WEEKLY ? (interval == 1 ? "Weekly" : "weeks") : (interval == 1 ? "Monthly" : "months"))
+                + " from " + first + " to " + new TimeBlock(last.getYear(), last.getMonth(), last.getDay());
+        if (host != null) {
+            s += " | Host: " + host.getName();
+        }
+        if (type == Competition.class) {
+            s += " | Prize: " + Money.format(prize) + " | Participation cost: " + Money.format(participationCost);
+        } else {
+            s += " | Goal: " + Money.format(goal);
+        }
+        return s;
+    }
+}
@@ -12,12 +12,13 @@ import facility.Facility;
 import main.ValidateInput;
 import member.AdultMember;
 import member.Member;
+import money.Money;
 import time.TimeBlock;
 
 public class Fundraiser extends Event {
     // fields
-    private double goal;
-    private double amountRaised;
+    private long goal;
+    private long amountRaised;
 
     /**
      * Constructor for Fundraiser;
@@ -29,7 +30,7 @@ public class Fundraiser extends Event {
      * @param host
      * @param goal
      */
-    public Fundraiser(Facility facility, TimeBlock timeBlock, Member host, double goal) {
+    public Fundraiser(Facility facility, TimeBlock timeBlock, Member host, long goal) {
         super(facility, timeBlock, host);
 
         this.goal = goal;
@@ -46,15 +47,16 @@ public class Fundraiser extends Event {
      * @param goal
      * @param completed
      */
-    public Fundraiser(Facility facility, TimeBlock timeBlock, Member host, double goal, boolean completed) {
+    public Fundraiser(Facility facility, TimeBlock timeBlock, Member host, long goal, boolean completed) {
         super(facility, timeBlock, host);
 
         this.goal = goal;
         this.completed = completed;
+        facility.updateBooking(this);
     }
 
     // accessors
-    public double getGoal() {
+    public long getGoal() {
         return this.goal;
     }
 
@@ -68,7 +70,8 @@ public class Fundraiser extends Event {
     @Override
     public void setCompleted() {
         completed = true;
-        double amount = 0;
+        facility.updateBooking(this);
+        long amount = 0;
 
         System.out.println("For each adult participant, enter the amount they raised (This does not affect their bill)");
         System.out.println(participants);
@@ -76,15 +79,15 @@ public class Fundraiser extends Event {
         for (int i = 0; i < participants.size(); i++) {
             if (participants.get(i) instanceof AdultMember am) {
                 System.out.print(am.getName()+":");
-                amount = ValidateInput.posDouble();
+                amount = Money.ofDollars(ValidateInput.posDouble());
 
                 amountRaised += amount;
             }
         }
         System.out.println(); // blank line
 
-        System.out.printf("Goal: $%.2f\n", goal);
-        System.out.printf("Total Amount Raised: $%.2f\n", amountRaised);
+        System.out.println("Goal: " + Money.format(goal));
+        System.out.println("Total Amount Raised: " + Money.format(amountRaised));
 
         if (amountRaised > goal) {
             System.out.println("Goal exceeded!");
@@ -94,22 +97,24 @@ public class Fundraiser extends Event {
             System.out.println("Goal matched!");
         }
         System.out.println(); // blank line
+
+        completeShifts();
     }
 
     /*
      * toString
      */
     public String toString() {
-        String s = "Fundraiser " + super.toString() + " | Goal: " + String.format("$%.2f", goal);
+        String s = "Fundraiser " + super.toString() + " | Goal: " + Money.format(goal);
         if (completed) {
-            s += " | Total raised: " + String.format("$%.2f", amountRaised);
+            s += " | Total raised: " + Money.format(amountRaised);
         }
 
         return s;
     }
 
     // mutator for goal amount
-    public void setGoal(double goal) {
+    public void setGoal(long goal) {
         this.goal = goal;
     }
 }
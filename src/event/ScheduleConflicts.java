@@ -0,0 +1,93 @@
+/**
+ * This class lists the entities whose schedules block an event from moving
+ * to a new time block. It is empty when the move is allowed.
+ *
+ * @author Mansour Abdelsalam
+ * @version 1.0
+ * @since 2025-06-14
+ */
+
+package event;
+
+import java.util.ArrayList;
+
+import facility.Facility;
+import member.Member;
+import staff.Staff;
+
+public class ScheduleConflicts {
+    // fields
+    private Facility facility;
+    private Member host;
+    private ArrayList<Staff> staff = new ArrayList<>();
+    private ArrayList<Member> participants = new ArrayList<>();
+
+    // accessors
+    public Facility getFacility() {
+        return this.facility;
+    }
+
+    public Member getHost() {
+        return this.host;
+    }
+
+    public ArrayList<Staff> getStaff() {
+        return this.staff;
+    }
+
+    public ArrayList<Member> getParticipants() {
+        return this.participants;
+    }
+
+    // mutators
+    void setFacility(Facility facility) {
+        this.facility = facility;
+    }
+
+    void setHost(Member host) {
+        this.host = host;
+    }
+
+    void addStaff(Staff staff) {
+        this.staff.add(staff);
+    }
+
+    void addParticipant(Member member) {
+        this.participants.add(member);
+    }
+
+    /**
+     * isEmpty
+     * determines if nothing conflicts.
+     *
+     * @return whether there are no conflicts
+     */
+    public boolean isEmpty() {
+        return facility == null && host == null && staff.isEmpty() && participants.isEmpty();
+    }
+
+    /*
+     * toString
+     */
+    public String toString() {
+        if (isEmpty()) {
+            return "No conflicts.";
+        }
+
+        String s = "Conflicts:";
+        if (facility != null) {
+            s += "\n - Facility: room " + facility.getRoomNum();
+        }
+        if (host != null) {
+            s += "\n - Host: " + host.getName();
+        }
+        for (Staff st : staff) {
+            s += "\n - Staff: " + st.getName();
+        }
+        for (Member m : participants) {
+            s += "\n - Participant: " + m.getName();
+        }
+
+        return s;
+    }
+}
@@ -9,6 +9,9 @@ package facility;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.TreeMap;
 
 import event.Event;
 import time.Schedule;
@@ -19,8 +22,17 @@ public abstract class Facility {
     protected int roomNum;
     protected int maxCapacity;
     protected Schedule bookings;
-    public static final double BASE_COST = 100;
-    public static final double HOURLY_COST = 25;
+    // the manager this facility is indexed in, set by FacilityManager
+    FacilityManager manager;
+    // how many future events have each participant count, largest last
+    private TreeMap<Integer, Integer> participantCounts = new TreeMap<>();
+    // the participant count each future event was counted under
+    private IdentityHashMap<Event, Integer> countedAt = new IdentityHashMap<>();
+    // usage of months that have ended, by year * 12 + month
+    private HashMap<Integer, Utilization> closedMonths = new HashMap<>();
+    // costs are in cents
+    public static final long BASE_COST = 10000;
+    public static final long HOURLY_COST = 2500;
 
     // constructor for a new facility
     Facility(int roomNum, int maxCapacity) {
@@ -34,16 +46,16 @@ public abstract class Facility {
      * abstract method to calculate cost based on a time block
      * 
      * @param timeBlock
-     * @return the cost
+     * @return the cost in cents
      */
-    public abstract double calcCost(TimeBlock timeBlock);
+    public abstract long calcCost(TimeBlock timeBlock);
 
     /**
      * abstract method to calculate cost for a one hour booking
      * 
-     * @return the cost
+     * @return the cost in cents
      */
-    public abstract double calcCostOneHour();
+    public abstract long calcCostOneHour();
 
     /**
      * equals method compares two facilities
@@ -91,25 +103,106 @@ public abstract class Facility {
      * @return the minimum
      */
     public int minMaxCapacity() {
-        int max = 0;
+        return participantCounts.isEmpty() ? 0 : participantCounts.lastKey();
+    }
+
+    /**
+     * re-counts an event's participants toward the capacity floor. Only events
+     * booked here that are not yet completed are counted, so this is called
+     * whenever an event's participants, facility, booking or completion
+     * changes.
+     * 
+     * @param event
+     */
+    public void updateBooking(Event event) {
+        forgetUsage(event.getTimeBlock());
 
-        for (Event event : bookings.getEventSchedule()) {
-            max = Math.max(max, event.getParticipants().size());
+        Integer old = countedAt.remove(event);
+        if (old != null) {
+            participantCounts.merge(old, -1, (a, b) -> a + b == 0 ? null : a + b);
         }
 
-        return max;
+        if (!event.isCompleted() && event.getFacility() == this && bookings.contains(event)) {
+            int count = event.getParticipants().size();
+            countedAt.put(event, count);
+            participantCounts.merge(count, 1, Integer::sum);
+        }
     }
 
     // mutator for max capacity
     public boolean setMaxCapacity(int maxCapacity) {
         if (maxCapacity >= minMaxCapacity()) {
+            // re-file the facility under its new capacity
+            if (manager != null) {
+                manager.unindex(this);
+            }
             this.maxCapacity = maxCapacity;
+            if (manager != null) {
+                manager.index(this);
+            }
+            // fill ratios are measured against the capacity
+            closedMonths.clear();
             return true;
         }
 
         return false;
     }
 
+    /**
+     * measures how this facility was used from the start of one day to the end
+     * of another. Months that have ended are measured once and kept until one
+     * of their bookings changes.
+     * 
+     * @param from the first day
+     * @param to   the last day
+     * @return the usage
+     */
+    public Utilization utilization(TimeBlock from, TimeBlock to) {
+        double start = from.hoursSinceEpoch() - from.getStartHour();
+        double end = to.hoursSinceEpoch() - to.getStartHour() + TimeBlock.HOURS_IN_DAY;
+        double now = main.CommunityCentreRunner.getTimeManager().getCurrentTime().hoursSinceEpoch();
+        Utilization usage = null;
+
+        for (double cursor = start; cursor < end;) {
+            TimeBlock day = TimeBlock.fromHoursSinceEpoch(cursor);
+            TimeBlock nextMonth = TimeBlock.nextMonth(day.getMonth()) == TimeBlock.Month.JAN
+                    ? new TimeBlock(day.getYear() + 1, TimeBlock.Month.JAN, 1)
+                    : new TimeBlock(day.getYear(), TimeBlock.nextMonth(day.getMonth()), 1);
+            double monthStart = new TimeBlock(day.getYear(), day.getMonth(), 1).hoursSinceEpoch();
+            double monthEnd = nextMonth.hoursSinceEpoch();
+            double pieceStart = cursor;
+            double pieceEnd = Math.min(monthEnd, end);
+
+            Utilization piece;
+            if (pieceStart == monthStart && pieceEnd == monthEnd && monthEnd <= now) {
+                piece = closedMonths.computeIfAbsent(monthKey(day), k -> Utilization.of(this, monthStart, monthEnd));
+            } else {
+                piece = Utilization.of(this, pieceStart, pieceEnd);
+            }
+
+            usage = usage == null ? piece : usage.then(piece);
+            cursor = pieceEnd;
+        }
+
+        return usage == null ? new Utilization() : usage;
+    }
+
+    /**
+     * drops the kept usage of the months a booking falls in
+     * 
+     * @param timeBlock the booking's time
+     */
+    public void forgetUsage(TimeBlock timeBlock) {
+        closedMonths.remove(monthKey(timeBlock));
+        // a booking running past midnight can reach into the next month's usage
+        closedMonths.remove(monthKey(TimeBlock.fromHoursSinceEpoch(timeBlock.getEndBlock().hoursSinceEpoch())));
+    }
+
+    // key of the month a date falls in
+    private static int monthKey(TimeBlock date) {
+        return date.getYear() * 12 + date.getMonth().ordinal();
+    }
+
     // #<id>, rm<rm#>, capacity: <capacity>
     public String toString() {
         return String.format(" #%d | Room number: %d | Capacity: %d", id, roomNum, maxCapacity);
@@ -14,11 +14,23 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
 
+import money.Money;
 import time.TimeBlock;
 
 public class FacilityManager {
     private ArrayList<Facility> facilities;
+    // facilities bucketed by max capacity, so capacity floors are a tail walk
+    private TreeMap<Integer, ArrayList<Facility>> byCapacity = new TreeMap<>();
+    // meeting facilities bucketed by size
+    private TreeMap<Double, ArrayList<Facility>> bySize = new TreeMap<>();
+    // sports facilities bucketed by rating
+    private TreeMap<Double, ArrayList<Facility>> byRating = new TreeMap<>();
+    // facilities bucketed by cost to rent for one hour
+    private TreeMap<Long, ArrayList<Facility>> byCost = new TreeMap<>();
 
     // constructor for blank facility manager
     public FacilityManager() {
@@ -46,12 +58,12 @@ public class FacilityManager {
                 double ratingOrSize = Double.parseDouble(br.readLine().trim());
 
                 if (type.equals("meeting")) {
-                    facilities.add(new MeetingFacility(roomNum, maxCapacity, ratingOrSize));
+                    addFacility(new MeetingFacility(roomNum, maxCapacity, ratingOrSize));
                     facilities.get(facilities.size() - 1).setId(id);
                 }
 
                 if (type.equals("sports")) {
-                    facilities.add(new SportsFacility(roomNum, maxCapacity, ratingOrSize));
+                    addFacility(new SportsFacility(roomNum, maxCapacity, ratingOrSize));
                     facilities.get(facilities.size() - 1).setId(id);
                 }
             }
@@ -232,8 +244,8 @@ public class FacilityManager {
     public boolean printAvailableFacilities(TimeBlock timeBlock, int minCap) {
         boolean found = false;
 
-        for (Facility facility : facilities) {
-            if (facility.getBookings().isBlockFree(timeBlock) && facility.maxCapacity >= minCap) {
+        for (Facility facility : facilitiesWithCapacity(minCap)) {
+            if (facility.getBookings().isBlockFree(timeBlock)) {
                 System.out.println(facility);
                 found = true;
             }
@@ -242,6 +254,140 @@ public class FacilityManager {
         return found;
     }
 
+    /**
+     * finds the cheapest facilities of a type that are free for a time block and
+     * hold a number of people. Only facilities at or above the capacity are
+     * visited, and a facility's bookings are only checked if it is cheap enough
+     * to make the list.
+     * 
+     * @param timeBlock the time block to book
+     * @param headcount the number of people
+     * @param type      MeetingFacility.class, SportsFacility.class, or null for
+     *                  either
+     * @param n         the most facilities to return
+     * @return the facilities, cheapest first
+     */
+    public ArrayList<Facility> cheapestAvailable(TimeBlock timeBlock, int headcount, Class<? extends Facility> type,
+            int n) {
+        Comparator<Facility> byCost = Comparator.comparingLong((Facility f) -> f.calcCost(timeBlock))
+                .thenComparingInt(Facility::getMaxCapacity)
+                .thenComparingInt(Facility::getId);
+        // the n cheapest so far, most expensive on top
+        PriorityQueue<Facility> cheapest = new PriorityQueue<>(Math.max(n, 1), byCost.reversed());
+
+        if (n > 0) {
+            for (ArrayList<Facility> bucket : byCapacity.tailMap(headcount, true).values()) {
+                for (Facility facility : bucket) {
+                    if (type != null && !type.isInstance(facility)) {
+                        continue;
+                    }
+                    if (cheapest.size() == n && byCost.compare(facility, cheapest.peek()) >= 0) {
+                        continue;
+                    }
+                    if (facility.getBookings().isBlockFree(timeBlock)) {
+                        cheapest.add(facility);
+                        if (cheapest.size() > n) {
+                            cheapest.poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        ArrayList<Facility> found = new ArrayList<>(cheapest);
+        found.sort(byCost);
+        return found;
+    }
+
+    /**
+     * prints the cheapest facilities of a type that are free for a time block
+     * and hold a number of people, with what each would cost
+     * 
+     * @param timeBlock the time block to book
+     * @param headcount the number of people
+     * @param type      MeetingFacility.class, SportsFacility.class, or null for
+     *                  either
+     * @param n         the most facilities to print
+     * @return whether anything was printed
+     */
+    public boolean printCheapestAvailable(TimeBlock timeBlock, int headcount, Class<? extends Facility> type, int n) {
+        ArrayList<Facility> found = cheapestAvailable(timeBlock, headcount, type, n);
+
+        for (Facility facility : found) {
+            System.out.println(facility + " | Cost for booking: " + Money.format(facility.calcCost(timeBlock)));
+        }
+
+        return !found.isEmpty();
+    }
+
+    /**
+     * finds the earliest times facilities are free for a booking. Each
+     * candidate facility lists its free slots a day at a time; the lists are
+     * merged earliest first through a priority queue, and the search stops
+     * once n slots are found, so a near answer only reads a few days.
+     * 
+     * @param duration the length of the booking in hours
+     * @param minCap   the minimum capacity of the facilities
+     * @param type     MeetingFacility.class, SportsFacility.class, or null for
+     *                 either
+     * @param window   the time to search, may span several days
+     * @param n        the most slots to return
+     * @return the slots, earliest first, then cheapest
+     */
+    public ArrayList<Slot> findEarliestSlots(double duration, int minCap, Class<? extends Facility> type,
+            TimeBlock window, int n) {
+        ArrayList<Slot> slots = new ArrayList<>();
+        if (n <= 0 || duration > TimeBlock.HOURS_IN_DAY) {
+            return slots;
+        }
+
+        PriorityQueue<FreeSlots> streams = new PriorityQueue<>(
+                Comparator.comparingDouble((FreeSlots f) -> f.peek().hoursSinceEpoch())
+                        .thenComparingLong(f -> f.getFacility().calcCostOneHour())
+                        .thenComparingInt(f -> f.getFacility().getId()));
+
+        for (Facility facility : facilitiesWithCapacity(minCap)) {
+            if (type == null || type.isInstance(facility)) {
+                FreeSlots stream = new FreeSlots(facility, duration, window);
+                if (stream.peek() != null) {
+                    streams.add(stream);
+                }
+            }
+        }
+
+        while (slots.size() < n && !streams.isEmpty()) {
+            FreeSlots stream = streams.poll();
+            slots.add(new Slot(stream.getFacility(), stream.next()));
+            if (stream.peek() != null) {
+                streams.add(stream);
+            }
+        }
+
+        return slots;
+    }
+
+    /**
+     * prints the earliest times facilities are free for a booking
+     * 
+     * @param duration the length of the booking in hours
+     * @param minCap   the minimum capacity of the facilities
+     * @param type     MeetingFacility.class, SportsFacility.class, or null for
+     *                 either
+     * @param window   the time to search, may span several days
+     * @param n        the most slots to print
+     * @return whether anything was printed
+     */
+    public boolean printEarliestSlots(double duration, int minCap, Class<? extends Facility> type, TimeBlock window,
+            int n) {
+        ArrayList<Slot> slots = findEarliestSlots(duration, minCap, type, window, n);
+
+        for (Slot slot : slots) {
+            System.out.println(slot);
+        }
+
+        return !slots.isEmpty();
+    }
+
     /**
      * prints all facilities that are above a minimum cap
      * 
@@ -249,13 +395,80 @@ public class FacilityManager {
      * @return whether any facilities were found
      */
     public boolean printFacilitesWithCapacity(int minCap) {
-        boolean found = false;
+        ArrayList<Facility> found = facilitiesWithCapacity(minCap);
 
-        for (Facility facility : facilities) {
-            if (facility.maxCapacity >= minCap) {
-                System.out.println(facility);
-                found = true;
-            }
+        for (Facility facility : found) {
+            System.out.println(facility);
+        }
+
+        return !found.isEmpty();
+    }
+
+    /**
+     * finds all facilities at or above a minimum cap
+     * 
+     * @param minCap the minimum capacity of the facilities
+     * @return the facilities, smallest capacity first
+     */
+    public ArrayList<Facility> facilitiesWithCapacity(int minCap) {
+        return flatten(byCapacity.tailMap(minCap, true));
+    }
+
+    /**
+     * finds all facilities with a capacity within a range
+     * 
+     * @param minCap the minimum capacity, inclusive
+     * @param maxCap the maximum capacity, inclusive
+     * @return the facilities, smallest capacity first
+     */
+    public ArrayList<Facility> facilitiesWithCapacity(int minCap, int maxCap) {
+        if (minCap > maxCap) {
+            return new ArrayList<>();
+        }
+        return flatten(byCapacity.subMap(minCap, true, maxCap, true));
+    }
+
+    /**
+     * finds all facilities that cost at most an amount to rent for one hour
+     * 
+     * @param maxCost the most the facility may cost, in cents
+     * @return the facilities, cheapest first
+     */
+    public ArrayList<Facility> facilitiesCostingAtMost(long maxCost) {
+        return flatten(byCost.headMap(maxCost, true));
+    }
+
+    /**
+     * finds all sports facilities rated at least a rating
+     * 
+     * @param minRating the lowest rating
+     * @return the facilities, highest rated first
+     */
+    public ArrayList<Facility> sportsFacilitiesRatedAtLeast(double minRating) {
+        return flatten(byRating.tailMap(minRating, true).descendingMap());
+    }
+
+    /**
+     * finds all meeting facilities at least a size
+     * 
+     * @param minSize the smallest size in sqft
+     * @return the facilities, largest first
+     */
+    public ArrayList<Facility> meetingFacilitiesAtLeast(double minSize) {
+        return flatten(bySize.tailMap(minSize, true).descendingMap());
+    }
+
+    /**
+     * lists the facilities of an index range in order
+     * 
+     * @param buckets the buckets of the range
+     * @return the facilities
+     */
+    private static ArrayList<Facility> flatten(Map<?, ArrayList<Facility>> buckets) {
+        ArrayList<Facility> found = new ArrayList<>();
+
+        for (ArrayList<Facility> bucket : buckets.values()) {
+            found.addAll(bucket);
         }
 
         return found;
@@ -267,22 +480,12 @@ public class FacilityManager {
      * @return whether anything was printed
      */
     public boolean printSportsFacilitiesByRating() {
-        ArrayList<SportsFacility> sportsFacilities = new ArrayList<>();
-
-        for (Facility facility : facilities) {
-            if (facility instanceof SportsFacility sportsFacility) {
-                sportsFacilities.add(sportsFacility);
-            }
-        }
-
-        if (sportsFacilities.isEmpty()) {
+        if (byRating.isEmpty()) {
             return false;
         }
 
-        sportsFacilities.sort(Comparator.comparingDouble(SportsFacility::getRating).reversed());
-
-        for (SportsFacility sportsFacility : sportsFacilities) {
-            System.out.println(sportsFacility);
+        for (Facility facility : flatten(byRating.descendingMap())) {
+            System.out.println(facility);
         }
 
         return true;
@@ -298,9 +501,7 @@ public class FacilityManager {
             return false;
         }
 
-        ArrayList<Facility> sorted = new ArrayList<>(facilities);
-        sorted.sort(Comparator.comparingDouble(Facility::calcCostOneHour));
-        for (Facility facility : sorted) {
+        for (Facility facility : flatten(byCost)) {
             System.out.println(facility);
         }
 
@@ -313,22 +514,53 @@ public class FacilityManager {
      * @return whether anything was printed
      */
     public boolean printMeetingFacilitiesBySize() {
-        ArrayList<MeetingFacility> meetingFacilities = new ArrayList<>();
+        if (bySize.isEmpty()) {
+            return false;
+        }
 
-        for (Facility facility : facilities) {
-            if (facility instanceof MeetingFacility meetingFacility) {
-                meetingFacilities.add(meetingFacility);
-            }
+        for (Facility facility : flatten(bySize.descendingMap())) {
+            System.out.println(facility);
         }
 
-        if (meetingFacilities.isEmpty()) {
+        return true;
+    }
+
+    /**
+     * prints how each facility, each type of facility, and all facilities
+     * together were used from the start of one day to the end of another
+     * 
+     * @param from the first day
+     * @param to   the last day
+     * @return whether anything was printed
+     */
+    public boolean printUtilization(TimeBlock from, TimeBlock to) {
+        if (facilities.isEmpty()) {
             return false;
         }
 
-        meetingFacilities.sort(Comparator.comparingDouble(MeetingFacility::getSize).reversed());
+        Utilization meeting = null;
+        Utilization sports = null;
+
+        for (Facility facility : facilities) {
+            Utilization usage = facility.utilization(from, to);
+            System.out.println("#" + facility.getId() + " | Room number: " + facility.getRoomNum() + " | " + usage);
 
-        for (MeetingFacility meetingFacility : meetingFacilities) {
-            System.out.println(meetingFacility);
+            if (facility instanceof MeetingFacility) {
+                meeting = meeting == null ? usage : meeting.plus(usage);
+            } else {
+                sports = sports == null ? usage : sports.plus(usage);
+            }
+        }
+
+        System.out.println(); // blank line
+        if (meeting != null) {
+            System.out.println("Meeting Facilities | " + meeting);
+        }
+        if (sports != null) {
+            System.out.println("Sports Facilities | " + sports);
+        }
+        if (meeting != null && sports != null) {
+            System.out.println("All Facilities | " + meeting.plus(sports));
         }
 
         return true;
@@ -339,6 +571,8 @@ public class FacilityManager {
      */
     public void addFacility(Facility facility) {
         facilities.add(facility);
+        facility.manager = this;
+        index(facility);
     }
 
     /**
@@ -347,13 +581,74 @@ public class FacilityManager {
     public boolean removeFacility(int id) {
         for (int i = 0; i < facilities.size(); i++) {
             if (facilities.get(i).getId() == id) {
-                facilities.remove(i);
+                Facility removed = facilities.remove(i);
+                unindex(removed);
+                removed.manager = null;
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * files a facility in the capacity, cost, and size or rating indexes
+     * 
+     * @param facility
+     */
+    void index(Facility facility) {
+        file(byCapacity, facility.getMaxCapacity(), facility);
+        file(byCost, facility.calcCostOneHour(), facility);
+        if (facility instanceof MeetingFacility meetingFacility) {
+            file(bySize, meetingFacility.getSize(), facility);
+        } else if (facility instanceof SportsFacility sportsFacility) {
+            file(byRating, sportsFacility.getRating(), facility);
+        }
+    }
+
+    /**
+     * takes a facility out of the indexes, while it still has the values it was
+     * filed under
+     * 
+     * @param facility
+     */
+    void unindex(Facility facility) {
+        unfile(byCapacity, facility.getMaxCapacity(), facility);
+        unfile(byCost, facility.calcCostOneHour(), facility);
+        if (facility instanceof MeetingFacility meetingFacility) {
+            unfile(bySize, meetingFacility.getSize(), facility);
+        } else if (facility instanceof SportsFacility sportsFacility) {
+            unfile(byRating, sportsFacility.getRating(), facility);
+        }
+    }
+
+    /**
+     * adds a facility to an index bucket
+     * 
+     * @param index    the index
+     * @param key      the value it is filed under
+     * @param facility
+     */
+    private static <K> void file(TreeMap<K, ArrayList<Facility>> index, K key, Facility facility) {
+        index.computeIfAbsent(key, k -> new ArrayList<>()).add(facility);
+    }
+
+    /**
+     * removes a facility from an index bucket, dropping the bucket once empty
+     * 
+     * @param index    the index
+     * @param key      the value it was filed under
+     * @param facility
+     */
+    private static <K> void unfile(TreeMap<K, ArrayList<Facility>> index, K key, Facility facility) {
+        ArrayList<Facility> bucket = index.get(key);
+        if (bucket != null) {
+            bucket.remove(facility);
+            if (bucket.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
     // accessor for facilities
     public ArrayList<Facility> getFacilities() {
         return facilities;
@@ -0,0 +1,92 @@
+/**
+ * FreeSlots lists the times a facility is free for a booking of a given
+ * length within a window, earliest first. Days are read from the facility's
+ * schedule one at a time, only as far as the slots are asked for.
+ *
+ * @author Sean Yang
+ * @since June 14, 2025
+ */
+
+package facility;
+
+import java.util.ArrayDeque;
+
+import time.TimeBlock;
+
+class FreeSlots {
+    private final Facility facility;
+    private final double duration;
+    // hours since epoch
+    private final double windowStart;
+    private final double windowEnd;
+    // the next day to read, null once past the window
+    private TimeBlock day;
+    // slots found on the last day read
+    private ArrayDeque<TimeBlock> pending = new ArrayDeque<>();
+
+    /**
+     * constructor
+     * 
+     * @param facility
+     * @param duration the length of the booking in hours
+     * @param window   the time to search, may span several days
+     */
+    FreeSlots(Facility facility, double duration, TimeBlock window) {
+        this.facility = facility;
+        this.duration = duration;
+        this.windowStart = window.hoursSinceEpoch();
+        this.windowEnd = window.getEndBlock().hoursSinceEpoch();
+        this.day = new TimeBlock(window.getYear(), window.getMonth(), window.getDay());
+        fill();
+    }
+
+    // accessor for the facility
+    Facility getFacility() {
+        return facility;
+    }
+
+    /**
+     * the earliest slot not yet taken
+     * 
+     * @return the slot, or null if there are no more
+     */
+    TimeBlock peek() {
+        return pending.peek();
+    }
+
+    /**
+     * takes the earliest slot
+     * 
+     * @return the slot, or null if there are no more
+     */
+    TimeBlock next() {
+        TimeBlock slot = pending.poll();
+        fill();
+        return slot;
+    }
+
+    /**
+     * reads days until one has a slot or the window ends. Each free block gives
+     * one slot, at its start.
+     */
+    private void fill() {
+        while (pending.isEmpty() && day != null) {
+            double dayStart = day.hoursSinceEpoch();
+            if (dayStart >= windowEnd) {
+                day = null;
+                return;
+            }
+
+            for (TimeBlock free : facility.getBookings().freeBlocksWithin(day)) {
+                double start = Math.max(dayStart + free.getStartHour(), windowStart);
+                double end = Math.min(dayStart + free.getEndHour(), windowEnd);
+                if (end - start >= duration) {
+                    pending.add(new TimeBlock(day, start - dayStart, duration));
+                }
+            }
+
+            TimeBlock next = day.nextDay();
+            day = new TimeBlock(next.getYear(), next.getMonth(), next.getDay());
+        }
+    }
+}
@@ -7,12 +7,13 @@
 
 package facility;
 
+import money.Money;
 import time.TimeBlock;
 
 public class MeetingFacility extends Facility {
     private double size;
 
-    public static final double COST_PER_SQFT = 0.07;
+    public static final double COST_PER_SQFT = 7; // cents
 
     /**
      * MeetingFacility constructor
@@ -31,28 +32,29 @@ public class MeetingFacility extends Facility {
      * specified time
      * 
      * @param timeBlock
-     * @return a double, the cost
+     * @return the cost in cents
      */
     @Override
-    public double calcCost(TimeBlock timeBlock) {
-        return Facility.BASE_COST + timeBlock.duration() * Facility.HOURLY_COST + size * COST_PER_SQFT;
+    public long calcCost(TimeBlock timeBlock) {
+        return Facility.BASE_COST + Money.times(Facility.HOURLY_COST, timeBlock.duration())
+                + Math.round(size * COST_PER_SQFT);
     }
 
     /**
      * calculates the cost to book this sports facility for one hour
      * 
-     * @return the cost
+     * @return the cost in cents
      */
     @Override
-    public double calcCostOneHour() {
-        return Facility.BASE_COST + Facility.HOURLY_COST + size * COST_PER_SQFT;
+    public long calcCostOneHour() {
+        return Facility.BASE_COST + Facility.HOURLY_COST + Math.round(size * COST_PER_SQFT);
     }
 
     // converts object to string
     @Override
     public String toString() {
         return "Meeting Facility" + super.toString()
-                + String.format(" | Size: %.0fsqft | Cost to Rent (1hr): $%.2f", size, calcCostOneHour());
+                + String.format(" | Size: %.0fsqft | Cost to Rent (1hr): %s", size, Money.format(calcCostOneHour()));
     }
 
     // accessor for size
@@ -62,6 +64,13 @@ public class MeetingFacility extends Facility {
 
     // mutator for size
     public void setSize(double size) {
+        // re-file the facility under its new size and cost
+        if (manager != null) {
+            manager.unindex(this);
+        }
         this.size = size;
+        if (manager != null) {
+            manager.index(this);
+        }
     }
 }
@@ -0,0 +1,40 @@
+/**
+ * Slot is a time a facility is free for, found by a slot search
+ *
+ * @author Sean Yang
+ * @since June 14, 2025
+ */
+
+package facility;
+
+import time.TimeBlock;
+
+public class Slot {
+    private final Facility facility;
+    private final TimeBlock timeBlock;
+
+    /**
+     * constructor
+     * 
+     * @param facility
+     * @param timeBlock
+     */
+    public Slot(Facility facility, TimeBlock timeBlock) {
+        this.facility = facility;
+        this.timeBlock = timeBlock;
+    }
+
+    // accessor for facility
+    public Facility getFacility() {
+        return facility;
+    }
+
+    // accessor for time block
+    public TimeBlock getTimeBlock() {
+        return timeBlock;
+    }
+
+    public String toString() {
+        return "Time: " + timeBlock + " | " + facility;
+    }
+}
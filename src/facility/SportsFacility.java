@@ -7,12 +7,13 @@
 
 package facility;
 
+import money.Money;
 import time.TimeBlock;
 
 public class SportsFacility extends Facility {
     private double rating;
 
-    public static final double COST_PER_RATING = 20;
+    public static final long COST_PER_RATING = 2000; // cents
 
     /**
      * constructor for a sports facility
@@ -31,28 +32,29 @@ public class SportsFacility extends Facility {
      * time
      * 
      * @param timeBlock
-     * @return a double, the cost
+     * @return the cost in cents
      */
     @Override
-    public double calcCost(TimeBlock timeBlock) {
-        return Facility.BASE_COST + timeBlock.duration() * Facility.HOURLY_COST + rating * COST_PER_RATING;
+    public long calcCost(TimeBlock timeBlock) {
+        return Facility.BASE_COST + Money.times(Facility.HOURLY_COST, timeBlock.duration())
+                + Money.times(COST_PER_RATING, rating);
     }
 
     /**
      * calculates the cost to book this sports facility for one hour
      * 
-     * @return the cost
+     * @return the cost in cents
      */
     @Override
-    public double calcCostOneHour() {
-        return Facility.BASE_COST + Facility.HOURLY_COST + rating * COST_PER_RATING;
+    public long calcCostOneHour() {
+        return Facility.BASE_COST + Facility.HOURLY_COST + Money.times(COST_PER_RATING, rating);
     }
 
     // converts object to string
     @Override
     public String toString() {
         return "Sports Facility" + super.toString()
-                + String.format(" | Rating: %.1f/10 | Cost to Rent (1hr): $%.2f", rating, calcCostOneHour());
+                + String.format(" | Rating: %.1f/10 | Cost to Rent (1hr): %s", rating, Money.format(calcCostOneHour()));
     }
 
     // accessor for rating
@@ -62,6 +64,13 @@ public class SportsFacility extends Facility {
 
     // accessor for rating
     public void setRating(double rating) {
+        // re-file the facility under its new rating and cost
+        if (manager != null) {
+            manager.unindex(this);
+        }
         this.rating = rating;
+        if (manager != null) {
+            manager.index(this);
+        }
     }
 }
@@ -0,0 +1,275 @@
+/**
+ * Utilization summarizes how a facility, or a group of facilities, was used
+ * over a stretch of time: booked hours against open hours, booked hours by
+ * hour of the week, how full events were, and the idle gaps between bookings.
+ * Stretches measured one after another can be joined, so a long range is the
+ * join of its months.
+ *
+ * @author Sean Yang
+ * @since June 14, 2025
+ */
+
+package facility;
+
+import event.Event;
+import time.TimeBlock;
+
+public class Utilization {
+    public static final int HOURS_IN_WEEK = 7 * TimeBlock.HOURS_IN_DAY;
+    // JAN 1, 1970 was a Thursday; hour of the week 0 is MON 00:00
+    private static final int EPOCH_HOUR_OF_WEEK = 3 * TimeBlock.HOURS_IN_DAY;
+    private static final String[] DAYS = { "MON", "TUE", "WED", "THU", "FRI", "SAT", "SUN" };
+
+    private double openHours;
+    private double bookedHours;
+    // booked hours by hour of the week
+    private double[] hourOfWeek = new double[HOURS_IN_WEEK];
+    private int events;
+    // sum of participants / max capacity over the events
+    private double fillSum;
+    // whether anything was booked
+    private boolean booked;
+    // idle hours before the first booking and after the last
+    private double leadingIdle;
+    private double trailingIdle;
+    // idle gaps between bookings
+    private int gaps;
+    private double longestGap;
+
+    // constructor for an empty summary
+    Utilization() {
+    }
+
+    /**
+     * measures a facility's bookings in one sweep over its schedule. A booking
+     * that started before the range and runs into it counts for the hours
+     * inside the range; its event is counted where it starts.
+     *
+     * @param facility
+     * @param start    hours since epoch, inclusive
+     * @param end      hours since epoch, exclusive
+     * @return the summary
+     */
+    static Utilization of(Facility facility, double start, double end) {
+        Utilization u = new Utilization();
+        u.openHours = end - start;
+
+        TimeBlock from = TimeBlock.fromHoursSinceEpoch(start);
+        TimeBlock range = new TimeBlock(from, from.getStartHour(), end - start);
+        // the end of the last booking so far
+        double cursor = start;
+
+        for (Event event : facility.getBookings().eventsOverlapping(range)) {
+            double eventStart = event.hoursSinceEpoch();
+            double eventEnd = Math.min(eventStart + event.getTimeBlock().duration(), end);
+            if (eventStart < start) {
+                // carried in from before the range: only its hours inside count
+                u.booked = true;
+                u.bookedHours += eventEnd - start;
+                u.spread(start, eventEnd);
+                cursor = Math.max(cursor, eventEnd);
+                continue;
+            }
+            double gap = eventStart - cursor;
+
+            if (!u.booked) {
+                u.leadingIdle = gap;
+            } else if (gap > 0) {
+                u.gaps++;
+                u.longestGap = Math.max(u.longestGap, gap);
+            }
+            u.booked = true;
+
+            u.bookedHours += eventEnd - eventStart;
+            u.spread(eventStart, eventEnd);
+            u.events++;
+            if (facility.getMaxCapacity() > 0) {
+                u.fillSum += (double) event.getParticipants().size() / facility.getMaxCapacity();
+            }
+            cursor = Math.max(cursor, eventEnd);
+        }
+
+        if (u.booked) {
+            u.trailingIdle = end - cursor;
+        } else {
+            u.leadingIdle = u.openHours;
+            u.trailingIdle = u.openHours;
+        }
+
+        return u;
+    }
+
+    /**
+     * adds a booking's hours to the hours of the week it covers
+     *
+     * @param start hours since epoch
+     * @param end   hours since epoch
+     */
+    private void spread(double start, double end) {
+        for (double hour = Math.floor(start); hour < end; hour++) {
+            double covered = Math.min(end, hour + 1) - Math.max(start, hour);
+            hourOfWeek[(int) ((hour + EPOCH_HOUR_OF_WEEK) % HOURS_IN_WEEK)] += covered;
+        }
+    }
+
+    /**
+     * joins this summary with one for the stretch right after it
+     *
+     * @param next
+     * @return the summary of both stretches
+     */
+    Utilization then(Utilization next) {
+        Utilization u = sum(next);
+
+        if (!booked) {
+            u.booked = next.booked;
+            u.leadingIdle = openHours + next.leadingIdle;
+            u.trailingIdle = next.booked ? next.trailingIdle : u.leadingIdle;
+            u.gaps = next.gaps;
+            u.longestGap = next.longestGap;
+        } else if (!next.booked) {
+            u.booked = true;
+            u.leadingIdle = leadingIdle;
+            u.trailingIdle = trailingIdle + next.openHours;
+            u.gaps = gaps;
+            u.longestGap = longestGap;
+        } else {
+            // the idle time across the boundary is one gap
+            double middle = trailingIdle + next.leadingIdle;
+            u.booked = true;
+            u.leadingIdle = leadingIdle;
+            u.trailingIdle = next.trailingIdle;
+            u.gaps = gaps + next.gaps + (middle > 0 ? 1 : 0);
+            u.longestGap = Math.max(Math.max(longestGap, next.longestGap), middle);
+        }
+
+        return u;
+    }
+
+    /**
+     * combines this summary with one for another facility over the same time,
+     * for group totals. The result can't be joined with later stretches.
+     *
+     * @param other
+     * @return the summary of both facilities
+     */
+    Utilization plus(Utilization other) {
+        Utilization u = sum(other);
+        u.booked = true;
+        u.gaps = getIdleGaps() + other.getIdleGaps();
+        u.longestGap = Math.max(getLongestGap(), other.getLongestGap());
+        return u;
+    }
+
+    /**
+     * adds up the hours, events and fill of two summaries
+     *
+     * @param other
+     * @return the sums, without any idle gaps
+     */
+    private Utilization sum(Utilization other) {
+        Utilization u = new Utilization();
+        u.openHours = openHours + other.openHours;
+        u.bookedHours = bookedHours + other.bookedHours;
+        for (int i = 0; i < HOURS_IN_WEEK; i++) {
+            u.hourOfWeek[i] = hourOfWeek[i] + other.hourOfWeek[i];
+        }
+        u.events = events + other.events;
+        u.fillSum = fillSum + other.fillSum;
+        return u;
+    }
+
+    // accessor for open hours
+    public double getOpenHours() {
+        return openHours;
+    }
+
+    // accessor for booked hours
+    public double getBookedHours() {
+        return bookedHours;
+    }
+
+    // accessor for the number of events
+    public int getEvents() {
+        return events;
+    }
+
+    /**
+     * calculates the share of open hours that were booked
+     *
+     * @return a ratio from 0 to 1
+     */
+    public double getUtilization() {
+        return openHours > 0 ? bookedHours / openHours : 0;
+    }
+
+    /**
+     * calculates how full events were on average
+     *
+     * @return participants / max capacity averaged over the events, 0 if none
+     */
+    public double getAverageFill() {
+        return events > 0 ? fillSum / events : 0;
+    }
+
+    /**
+     * finds the hour of the week with the most booked hours
+     *
+     * @return the hour, 0 for MON 00:00, or -1 if nothing was booked
+     */
+    public int getPeakHourOfWeek() {
+        int peak = -1;
+
+        for (int i = 0; i < HOURS_IN_WEEK; i++) {
+            if (hourOfWeek[i] > 0 && (peak < 0 || hourOfWeek[i] > hourOfWeek[peak])) {
+                peak = i;
+            }
+        }
+
+        return peak;
+    }
+
+    /**
+     * counts the idle stretches, including before the first booking and after
+     * the last
+     *
+     * @return the number of gaps
+     */
+    public int getIdleGaps() {
+        if (!booked) {
+            return openHours > 0 ? 1 : 0;
+        }
+        return gaps + (leadingIdle > 0 ? 1 : 0) + (trailingIdle > 0 ? 1 : 0);
+    }
+
+    /**
+     * finds the longest idle stretch
+     *
+     * @return the number of hours
+     */
+    public double getLongestGap() {
+        return Math.max(longestGap, Math.max(leadingIdle, trailingIdle));
+    }
+
+    // calculates the hours nothing was booked
+    public double getIdleHours() {
+        return openHours - bookedHours;
+    }
+
+    /**
+     * formats an hour of the week
+     *
+     * @param hour 0 for MON 00:00
+     * @return e.g. "SAT 14:00"
+     */
+    public static String hourOfWeekString(int hour) {
+        return String.format("%s %02d:00", DAYS[hour / TimeBlock.HOURS_IN_DAY], hour % TimeBlock.HOURS_IN_DAY);
+    }
+
+    public String toString() {
+        int peak = getPeakHourOfWeek();
+        return String.format("Booked %.1f of %.1f hours (%.1f%%) | Peak: %s | Average fill: %.1f%% | Idle gaps: %d, longest %.1f hours",
+                bookedHours, openHours, getUtilization() * 100, peak < 0 ? "none" : hourOfWeekString(peak),
+                getAverageFill() * 100, getIdleGaps(), getLongestGap());
+    }
+}
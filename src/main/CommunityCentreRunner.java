@@ -21,7 +21,9 @@ import main.submenu.DeleteMenu;
 import main.submenu.ListMenu;
 import main.submenu.ModifyMenu;
 import main.submenu.SearchMenu;
+import member.BillingLedger;
 import member.MemberManager;
+import staff.PayrollLedger;
 import staff.StaffManager;
 import time.TimeBlock;
 import time.TimeManager;
@@ -29,10 +31,14 @@ import time.TimeManager;
 public class CommunityCentreRunner {
     // file paths
     public static final String EVENTS_FILEPATH = "data/events.txt";
+    public static final String SERIES_FILEPATH = "data/series.txt";
     public static final String FACILITIES_FILEPATH = "data/facilities.txt";
     public static final String MEMBERS_FILEPATH = "data/members.txt";
     public static final String STAFFS_FILEPATH = "data/staffs.txt";
     public static final String TIME_FILEPATH = "data/time.txt";
+    public static final String LEDGER_FILEPATH = "data/ledger.txt";
+    public static final String PAYROLL_FILEPATH = "data/payroll.txt";
+    public static final String STATEMENTS_DIRECTORY = "data/statements/";
 
     // initialize managers
     private static MemberManager memberManager = new MemberManager();
@@ -160,8 +166,11 @@ public class CommunityCentreRunner {
         timeManager = new TimeManager(TIME_FILEPATH);
         facilityManager = new FacilityManager(FACILITIES_FILEPATH);
         memberManager = new MemberManager(MEMBERS_FILEPATH);
+        memberManager.setLedger(new BillingLedger(LEDGER_FILEPATH));
         staffManager = new StaffManager(STAFFS_FILEPATH);
+        staffManager.setPayroll(new PayrollLedger(PAYROLL_FILEPATH));
         eventManager = new EventManager(EVENTS_FILEPATH);
+        eventManager.loadSeries(SERIES_FILEPATH);
 
         boolean quit = false;
 
@@ -187,8 +196,11 @@ public class CommunityCentreRunner {
         }
 
         eventManager.save(EVENTS_FILEPATH);
+        eventManager.saveSeries(SERIES_FILEPATH);
         memberManager.save(MEMBERS_FILEPATH);
+        memberManager.getLedger().save(LEDGER_FILEPATH);
         staffManager.save(STAFFS_FILEPATH);
+        staffManager.getPayroll().save(PAYROLL_FILEPATH);
         facilityManager.save(FACILITIES_FILEPATH);
         timeManager.save(TIME_FILEPATH);
 
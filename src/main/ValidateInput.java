@@ -203,13 +203,11 @@ public class ValidateInput {
         return planType;
     }
 
-    // validates input for dates, also disallows dates in the past
-    public static TimeBlock date() {
+    // validates input for months
+    public static Month month() {
         System.out.println("Enter the month (3-letter abbreviation, e.g. JAN)");
 
-        int year = -1;
         Month month = null;
-        int day = 0;
 
         while (month == null) {
             // input
@@ -227,6 +225,16 @@ public class ValidateInput {
             }
         }
 
+        return month;
+    }
+
+    // validates input for dates, also disallows dates in the past
+    public static TimeBlock date() {
+        Month month = month();
+
+        int year = -1;
+        int day = 0;
+
         while (day < 1 || day > 31) {
             // input
             System.out.println("Enter the day (1-31)");
@@ -8,10 +8,12 @@
 
 package main.submenu;
 
+import java.util.ArrayList;
 import java.util.Scanner;
 
 import event.Competition;
 import event.Event;
+import event.EventSeries;
 import event.Fundraiser;
 import facility.Facility;
 import facility.FacilityManager;
@@ -24,6 +26,7 @@ import member.Member;
 import member.Member.PlanType;
 import member.MemberManager;
 import member.YouthMember;
+import money.Money;
 import staff.FullTimeStaff;
 import staff.PartTimeStaff;
 import staff.Staff;
@@ -41,10 +44,11 @@ public class CreateMenu {
         System.out.println("(2) Create Staff");
         System.out.println("(3) Create Facility");
         System.out.println("(4) Create Event");
+        System.out.println("(5) Create Recurring Event Series");
         System.out.println("<0> Back");
 
-        // now allow choice up to 4
-        int createChoice = ValidateInput.menu(4);
+        // now allow choice up to 5
+        int createChoice = ValidateInput.menu(5);
         main.CommunityCentreRunner.separate();
 
         switch (createChoice) {
@@ -110,7 +114,7 @@ public class CreateMenu {
                     System.out.println("Hours worked");
                     double hours = ValidateInput.posDouble();
                     System.out.println("Hourly wage ($)");
-                    double rate = ValidateInput.posDouble();
+                    long rate = Money.ofDollars(ValidateInput.posDouble());
                     System.out.println("Max weekly hours");
                     int maxH = ValidateInput.posInt();
                     newStaff = new PartTimeStaff(staffName, hours, rate, maxH);
@@ -148,17 +152,17 @@ public class CreateMenu {
                 System.out.println("Event type   (0) Competition   (1) Fundraiser");
                 int eventType = ValidateInput.menu(1);
 
-                double prize = 0;
-                double goal = 0;
-                double participationCost = 0;
+                long prize = 0;
+                long goal = 0;
+                long participationCost = 0;
                 if (eventType == 0) {
                     System.out.println("Enter prize amount ($)");
-                    prize = ValidateInput.posDouble();
+                    prize = Money.ofDollars(ValidateInput.posDouble());
                     System.out.println("Enter participation cost ($)");
-                    participationCost = ValidateInput.posDouble();
+                    participationCost = Money.ofDollars(ValidateInput.posDouble());
                 } else {
                     System.out.println("Enter goal amount ($)");
-                    goal = ValidateInput.posDouble();
+                    goal = Money.ofDollars(ValidateInput.posDouble());
                 }
 
                 TimeBlock tb = null;
@@ -258,6 +262,77 @@ public class CreateMenu {
                 System.out.println(newEvent);
                 System.out.println("Event created successfully.");
             }
+            case 5 -> {
+                System.out.println("Event type   (0) Competition   (1) Fundraiser");
+                int eventType = ValidateInput.menu(1);
+
+                long prize = 0;
+                long goal = 0;
+                long participationCost = 0;
+                if (eventType == 0) {
+                    System.out.println("Enter prize amount ($)");
+                    prize = Money.ofDollars(ValidateInput.posDouble());
+                    System.out.println("Enter participation cost ($)");
+                    participationCost = Money.ofDollars(ValidateInput.posDouble());
+                } else {
+                    System.out.println("Enter goal amount ($)");
+                    goal = Money.ofDollars(ValidateInput.posDouble());
+                }
+
+                System.out.println("First occurrence");
+                TimeBlock first = ValidateInput.timeBlock();
+                System.out.println("Repeat   (0) Weekly   (1) Monthly");
+                EventSeries.Frequency frequency = ValidateInput.menu(1) == 0 ? EventSeries.Frequency.WEEKLY
+                        : EventSeries.Frequency.MONTHLY;
+                System.out.println("Repeat every how many "
+                        + (frequency == EventSeries.Frequency.WEEKLY ? "weeks" : "months"));
+                int interval = Math.max(ValidateInput.posInt(), 1);
+                System.out.println("Last day of the series");
+                TimeBlock last = ValidateInput.date();
+
+                Facility fac = null;
+                while (fac == null) {
+                    System.out.println("Enter facility room num.");
+                    int roomNum = ValidateInput.posInt();
+                    fac = facilityManager.searchByRoomNum(roomNum);
+
+                    if (fac == null) {
+                        System.out.println("Facility with room num. " + roomNum + " not found.");
+                    } else if (eventType == 0 ? !(fac instanceof SportsFacility) : !(fac instanceof MeetingFacility)) {
+                        System.out.println("Invalid facility for the event.");
+                        fac = null;
+                    }
+                }
+
+                System.out.println("Enter hosting type   (0) Member ID   (1) None");
+                int hostingChoice = ValidateInput.menu(1);
+                Member host = null;
+                if (hostingChoice == 0) {
+                    while (!(host instanceof AdultMember)) {
+                        System.out.println("Enter host (member) ID");
+                        int hid = ValidateInput.posInt();
+                        host = memberManager.searchById(hid);
+                        if (host == null) {
+                            System.out.println("Member with ID " + hid + " not found.");
+                        } else if (host instanceof YouthMember) {
+                            System.out.println("Host cannot be a youth member.");
+                        }
+                    }
+                }
+
+                EventSeries newSeries = new EventSeries(eventType == 0 ? Competition.class : Fundraiser.class, fac,
+                        host, first, last, frequency, interval, prize, participationCost, goal);
+                ArrayList<TimeBlock> conflicts = main.CommunityCentreRunner.getEventManager().bookSeries(newSeries);
+                if (conflicts.isEmpty()) {
+                    System.out.println(newSeries);
+                    System.out.println("Event series created successfully.");
+                } else {
+                    System.out.println("The series could not be created; these occurrences are already booked:");
+                    for (TimeBlock conflict : conflicts) {
+                        System.out.println(" - " + conflict);
+                    }
+                }
+            }
 
             case 0 -> {
                 return MenuStatus.BACK;
@@ -36,9 +36,10 @@ public class DeleteMenu {
         System.out.println("(2) Delete Staff");
         System.out.println("(3) Delete Facility");
         System.out.println("(4) Delete Event");
+        System.out.println("(5) Delete Event Series");
         System.out.println("<0> Back");
 
-        int deleteChoice = ValidateInput.menu(4);
+        int deleteChoice = ValidateInput.menu(5);
         main.CommunityCentreRunner.separate();
 
         switch (deleteChoice) {
@@ -94,6 +95,17 @@ public class DeleteMenu {
                     System.out.println("Event with ID #" + eventId + " not found.");
                 }
             }
+            case 5 -> {
+                System.out.println("Enter the series ID to delete");
+                int seriesId = ValidateInput.posInt();
+
+                // occurrences already made into events are kept
+                if (eventManager.cancelSeries(seriesId)) {
+                    System.out.println("Series with ID #" + seriesId + " has been deleted.");
+                } else {
+                    System.out.println("Series with ID #" + seriesId + " not found.");
+                }
+            }
             case 0 -> {
                 return MenuStatus.BACK;
             }
@@ -13,7 +13,9 @@ import facility.FacilityManager;
 import main.CommunityCentreRunner.MenuStatus;
 import main.ValidateInput;
 import member.MemberManager;
+import staff.PartTimeStaff;
 import staff.StaffManager;
+import time.TimeBlock;
 
 public class ListMenu {
     // show the menu
@@ -29,31 +31,37 @@ public class ListMenu {
         System.out.println("(2) Sports Facilities by Rating");
         System.out.println("(3) Meeting Facilities by Size");
         System.out.println("(4) Facilities by Cost to Rent");
+        System.out.println("(5) Facility Utilization");
         System.out.println("-");
 
         // list events
-        System.out.println("(5) Events by ID");
-        System.out.println("(6) Events in Chronological Order");
-        System.out.println("(7) Future Events");
-        System.out.println("(8) Past Events");
+        System.out.println("(6) Events by ID");
+        System.out.println("(7) Events in Chronological Order");
+        System.out.println("(8) Future Events");
+        System.out.println("(9) Past Events");
+        System.out.println("(10) Event Series");
         System.out.println("-");
 
         // list members
-        System.out.println("(9) Members by ID");
-        System.out.println("(10) Members by Alphabet");
-        System.out.println("(11) Members by Bill");
+        System.out.println("(11) Members by ID");
+        System.out.println("(12) Members by Alphabet");
+        System.out.println("(13) Members by Bill");
+        System.out.println("(14) Member Statistics");
         System.out.println("-");
 
         // list staff
-        System.out.println("(12) Staff by ID");
-        System.out.println("(13) Staff by Alphabet");
-        System.out.println("(14) Full-Time Staff by Pay");
+        System.out.println("(15) Staff by ID");
+        System.out.println("(16) Staff by Alphabet");
+        System.out.println("(17) Full-Time Staff by Pay");
+        System.out.println("(18) Staff Pay for a Year");
+        System.out.println("(19) Re-check Part-Time Payroll for a Month");
+        System.out.println("(20) Staff Workload Projection");
         System.out.println("-");
 
         // back
         System.out.println("<0> Back");
 
-        int viewChoice = ValidateInput.menu(14);
+        int viewChoice = ValidateInput.menu(20);
         main.CommunityCentreRunner.separate();
 
         switch (viewChoice) {
@@ -78,56 +86,108 @@ public class ListMenu {
                 }
             }
             case 5 -> {
+                System.out.println("First month");
+                TimeBlock.Month month = ValidateInput.month();
+                System.out.println("Enter the year (YYYY)");
+                int year = ValidateInput.posInt();
+                System.out.println("Number of months");
+                int months = Math.max(ValidateInput.posInt(), 1);
+
+                TimeBlock from = new TimeBlock(year, month, 1);
+                int last = year * 12 + month.ordinal() + months - 1;
+                TimeBlock.Month lastMonth = TimeBlock.Month.values()[last % 12];
+                TimeBlock to = new TimeBlock(last / 12, lastMonth, TimeBlock.DAYS_IN_MONTH.get(lastMonth)
+                        + (lastMonth == TimeBlock.Month.FEB && TimeBlock.isLeapYear(last / 12) ? 1 : 0));
+                if (!facilityManager.printUtilization(from, to)) {
+                    System.out.println("No facilities found.");
+                }
+            }
+            case 6 -> {
                 if (!eventManager.printAllEvents()) {
                     System.out.println("No events found.");
                 }
             }
-            case 6 -> {
+            case 7 -> {
                 if (!eventManager.printEventsChronologically()) {
                     System.out.println("No events found.");
                 }
             }
-            case 7 -> {
+            case 8 -> {
                 if (!eventManager.printFutureEvents()) {
                     System.out.println("No future events found.");
                 }
             }
-            case 8 -> {
+            case 9 -> {
                 if (!eventManager.printPastEvents()) {
                     System.out.println("No past events found.");
                 }
             }
-            case 9 -> {
+            case 10 -> {
+                if (!eventManager.printAllSeries(EventManager.SERIES_UPCOMING)) {
+                    System.out.println("No event series found.");
+                }
+            }
+            case 11 -> {
                 if (!memberManager.printAllMembers()) {
                     System.out.println("No members found");
                 }
             }
-            case 10 -> {
+            case 12 -> {
                 if (!memberManager.printAlphabetical()) {
                     System.out.println("No members found.");
                 }
             }
-            case 11 -> {
+            case 13 -> {
                 if (!memberManager.printAllBills()) {
                     System.out.println("No member bills found.");
                 }
             }
-            case 12 -> {
+            case 14 -> {
+                if (!memberManager.printDashboard()) {
+                    System.out.println("No members found.");
+                }
+            }
+            case 15 -> {
                 if (!staffManager.printAllStaff()) {
                     System.out.println("No members found.");
                 }
             }
-            case 13 -> {
+            case 16 -> {
                 if (!staffManager.printAlphabetical()) {
                     System.out.println("No staff found");
                 }
             }
-            case 14 -> {
+            case 17 -> {
                 if (!staffManager.printAllPayrolls()) {
                     System.out.println("No payrolls found.");
 
                 }
             }
+            case 18 -> {
+                System.out.println("Enter the year (YYYY)");
+                int year = ValidateInput.posInt();
+                if (!staffManager.printYearEndReport(year)) {
+                    System.out.println("No pay recorded for " + year + ".");
+                }
+            }
+            case 19 -> {
+                TimeBlock.Month month = ValidateInput.month();
+                System.out.println("Enter the year (YYYY)");
+                int year = ValidateInput.posInt();
+                System.out.println("Compare with   (0) Rates paid at   (1) Current rates");
+                if (ValidateInput.menu(1) == 0) {
+                    staffManager.printPayrollDiff(PartTimeStaff.class, new TimeBlock(year, month, 1));
+                } else {
+                    staffManager.printPayrollDiffAtCurrentRates(PartTimeStaff.class, new TimeBlock(year, month, 1));
+                }
+            }
+            case 20 -> {
+                System.out.println("Enter the number of weeks to project");
+                int weeks = ValidateInput.posInt();
+                if (!staffManager.printWorkload(weeks)) {
+                    System.out.println("No staff found.");
+                }
+            }
             case 0 -> {
                 return MenuStatus.BACK;
             }
@@ -8,11 +8,13 @@
 
 package main.submenu;
 
+import java.util.ArrayList;
 import java.util.Scanner;
 
 import event.Competition;
 import event.Event;
 import event.EventManager;
+import event.EventSeries;
 import event.Fundraiser;
 import facility.Facility;
 import facility.FacilityManager;
@@ -32,10 +34,13 @@ import member.AdultMember;
 import member.Member;
 import member.MemberManager;
 import member.YouthMember;
+import money.Money;
 import staff.FullTimeStaff;
 import staff.PartTimeStaff;
 import staff.Staff;
+import staff.StaffAssigner;
 import staff.StaffManager;
+import time.TimeBlock;
 
 public class ModifyMenu {
     // show the menu
@@ -51,9 +56,11 @@ public class ModifyMenu {
         System.out.println("(2) Modify Staff");
         System.out.println("(3) Modify Facility");
         System.out.println("(4) Modify Event");
+        System.out.println("(5) Assign Staff to Upcoming Events");
+        System.out.println("(6) Modify Event Series");
         System.out.println("<0> Back");
 
-        int modifyChoice = ValidateInput.menu(4);
+        int modifyChoice = ValidateInput.menu(6);
         main.CommunityCentreRunner.separate();
 
         switch (modifyChoice) {
@@ -196,6 +203,66 @@ public class ModifyMenu {
                     System.out.println("Event with ID #" + eid + " not found.");
                 }
             }
+            case 5 -> {
+                System.out.println("Assign staff to events up to which date?");
+                TimeBlock to = ValidateInput.date();
+                System.out.println("Enter number of staff needed per event");
+                int perEvent = ValidateInput.posInt();
+                ArrayList<Event> events = eventManager.understaffedEvents(perEvent, to);
+                if (events.isEmpty()) {
+                    System.out.println("No events need staff.");
+                    break;
+                }
+                StaffAssigner assigner = staffManager.autoAssign(events, perEvent);
+                System.out.println("Assigned " + assigner.getAssigned() + " shift(s) across " + events.size()
+                        + " event(s), part-time wages " + Money.format(assigner.getCost()) + ".");
+                for (Event event : assigner.getUnfilled()) {
+                    System.out.println("Not enough staff available for event #" + event.getId() + ".");
+                }
+            }
+            case 6 -> {
+                System.out.println("Enter the series ID to modify");
+                int sid = ValidateInput.posInt();
+                EventSeries series = eventManager.searchSeriesById(sid);
+                if (series == null) {
+                    System.out.println("Series with ID #" + sid + " not found.");
+                    break;
+                }
+                System.out.println(series);
+
+                System.out.println("(0) Register a Member for an Occurrence   (1) Skip an Occurrence");
+                int seriesChoice = ValidateInput.menu(1);
+                System.out.println("Day of the occurrence");
+                TimeBlock date = ValidateInput.date();
+                TimeBlock occurrence = series.occurrenceOn(date);
+                TimeBlock now = main.CommunityCentreRunner.getTimeManager().getCurrentTime();
+                if (occurrence == null || series.isSkipped(date)) {
+                    System.out.println("The series has no occurrence on that day.");
+                    break;
+                } else if (occurrence.compareToStart(now) > 0) {
+                    System.out.println("That occurrence has already started.");
+                    break;
+                }
+
+                if (seriesChoice == 0) {
+                    System.out.println("Member ID or name to register");
+                    System.out.print(" >  ");
+                    Member member = memberManager.searchByIdOrName(scan.nextLine().trim().toUpperCase());
+                    if (member == null) {
+                        System.out.println("Member not found.");
+                    } else if (eventManager.registerForOccurrence(series, date, member)) {
+                        System.out.println(member.getName() + " registered for event #"
+                                + series.getEvent(date).getId() + ".");
+                    } else {
+                        System.out.println("Could not register " + member.getName() + " for the occurrence.");
+                    }
+                } else if (series.skip(date)) {
+                    System.out.println("Occurrence skipped.");
+                } else {
+                    System.out.println("This occurrence is already an event; delete event #"
+                            + series.getEvent(date).getId() + " instead.");
+                }
+            }
             case 0 -> {
                 return MenuStatus.BACK;
             }
@@ -8,16 +8,20 @@
 
 package main.submenu;
 
+import java.util.List;
 import java.util.Scanner;
 
 import event.Event;
 import event.EventManager;
 import facility.Facility;
 import facility.FacilityManager;
+import facility.MeetingFacility;
+import facility.SportsFacility;
 import main.CommunityCentreRunner.MenuStatus;
 import main.ValidateInput;
 import member.Member;
 import member.MemberManager;
+import money.Money;
 import staff.Staff;
 import staff.StaffManager;
 import time.TimeBlock;
@@ -39,21 +43,27 @@ public class SearchMenu {
         System.out.println("(3) Facilities above Capacity");
         System.out.println("(4) Facilities Available within Time Range");
         System.out.println("(5) Facilities Available within Time Range above Capacity");
+        System.out.println("(6) Cheapest Facilities for a Booking");
+        System.out.println("(7) Earliest Available Facility Times");
         System.out.println("-");
         // search events
-        System.out.println("(6) Event using ID");
-        System.out.println("(7) Events within Time Range");
+        System.out.println("(8) Event using ID");
+        System.out.println("(9) Events within Time Range");
         System.out.println("-");
         // search members
-        System.out.println("(8) Member using ID or name");
+        System.out.println("(10) Member using ID or name");
+        System.out.println("(11) Member Billing Statement using ID or name");
+        System.out.println("(12) Members Owing the Most");
+        System.out.println("(13) Members Owing more than Amount");
+        System.out.println("(14) Household using Member ID or name");
         System.out.println("-");
         // search staff
-        System.out.println("(9) Staff using ID or name");
+        System.out.println("(15) Staff using ID or name");
         System.out.println("-");
         // back
         System.out.println("<0> Back");
 
-        int searchChoice = ValidateInput.menu(9);
+        int searchChoice = ValidateInput.menu(15);
         main.CommunityCentreRunner.separate();
 
         switch (searchChoice) {
@@ -110,6 +120,40 @@ public class SearchMenu {
                 }
             }
             case 6 -> {
+                TimeBlock tb = ValidateInput.timeBlock();
+                System.out.println("Enter number of people");
+                int headcount = ValidateInput.posInt();
+                Class<? extends Facility> facilityType = facilityType();
+                System.out.println("Number of facilities to show");
+                int count = ValidateInput.posInt();
+
+                System.out.println(); // blank line
+                System.out.println("Cheapest facilities available:");
+                if (!facilityManager.printCheapestAvailable(tb, headcount, facilityType, count)) {
+                    System.out.println("No matching facilities found.");
+                }
+            }
+            case 7 -> {
+                System.out.println("Enter length of booking (hours)");
+                double duration = ValidateInput.posDouble();
+                System.out.println("Enter number of people");
+                int headcount = ValidateInput.posInt();
+                Class<? extends Facility> facilityType = facilityType();
+                System.out.println("Search how many days ahead");
+                int days = ValidateInput.posInt();
+                System.out.println("Number of times to show");
+                int count = ValidateInput.posInt();
+
+                TimeBlock now = main.CommunityCentreRunner.getTimeManager().getCurrentTime();
+                TimeBlock window = new TimeBlock(now, now.getStartHour(), (double) days * TimeBlock.HOURS_IN_DAY);
+
+                System.out.println(); // blank line
+                System.out.println("Earliest available times:");
+                if (!facilityManager.printEarliestSlots(duration, headcount, facilityType, window, count)) {
+                    System.out.println("No matching times found.");
+                }
+            }
+            case 8 -> {
                 System.out.println("Event ID");
                 int eid = ValidateInput.posInt();
                 Event ev = eventManager.searchById(eid);
@@ -122,12 +166,12 @@ public class SearchMenu {
                 } else
                     System.out.println("Event with ID #" + eid + " not found.");
             }
-            case 7 -> {
+            case 9 -> {
                 // build a TimeBlock
                 TimeBlock tb = ValidateInput.timeBlock();
                 eventManager.printEventsWithin(tb);
             }
-            case 8 -> {
+            case 10 -> {
                 System.out.println("Member ID or name");
                 System.out.print(" >  ");
                 String memberIdOrName = scan.nextLine().trim().toUpperCase();
@@ -140,10 +184,53 @@ public class SearchMenu {
                     if (!registrations.isEmpty()) {
                         System.out.println(registrations);
                     }
-                } else
+                } else {
                     System.out.println("Member not found.");
+                    suggestMembers(memberManager, memberIdOrName);
+                }
             }
-            case 9 -> {
+            case 11 -> {
+                System.out.println("Member ID or name");
+                System.out.print(" >  ");
+                String memberIdOrName = scan.nextLine().trim().toUpperCase();
+                Member member = memberManager.searchByIdOrName(memberIdOrName);
+
+                if (member != null) {
+                    System.out.println(member);
+                    memberManager.printStatement(member, null, null);
+                } else {
+                    System.out.println("Member not found.");
+                    suggestMembers(memberManager, memberIdOrName);
+                }
+            }
+            case 12 -> {
+                System.out.println("Number of members");
+                int count = ValidateInput.posInt();
+                if (!memberManager.printTopDebtors(count)) {
+                    System.out.println("No member bills found.");
+                }
+            }
+            case 13 -> {
+                System.out.println("Amount owed ($)");
+                long amount = Money.ofDollars(ValidateInput.posDouble());
+                if (!memberManager.printOwingMoreThan(amount)) {
+                    System.out.println("No members owe more than " + Money.format(amount) + ".");
+                }
+            }
+            case 14 -> {
+                System.out.println("Member ID or name");
+                System.out.print(" >  ");
+                String memberIdOrName = scan.nextLine().trim().toUpperCase();
+                Member member = memberManager.searchByIdOrName(memberIdOrName);
+
+                if (member == null) {
+                    System.out.println("Member not found.");
+                    suggestMembers(memberManager, memberIdOrName);
+                } else if (!memberManager.printHousehold(member)) {
+                    System.out.println("Member has no household.");
+                }
+            }
+            case 15 -> {
                 System.out.println("Staff ID or name");
                 System.out.print(" >  ");
                 String staffIdOrName = scan.nextLine().trim().toUpperCase();
@@ -157,6 +244,7 @@ public class SearchMenu {
                     }
                 } else {
                     System.out.println("Staff not found.");
+                    suggestStaff(staffManager, staffIdOrName);
                 }
             }
             case 0 -> {
@@ -166,4 +254,39 @@ public class SearchMenu {
 
         return MenuStatus.CONTINUE;
     }
+
+    // ask for a facility type, null for either
+    private static Class<? extends Facility> facilityType() {
+        System.out.println("Facility type   (0) Meeting Room   (1) Sports Facility   (2) Either");
+        return switch (ValidateInput.menu(2)) {
+            case 0 -> MeetingFacility.class;
+            case 1 -> SportsFacility.class;
+            default -> null;
+        };
+    }
+
+    // number of close names suggested when a search finds nothing
+    private static final int SUGGESTIONS = 5;
+
+    // print members with names close to what was typed
+    private static void suggestMembers(MemberManager memberManager, String name) {
+        List<Member> close = memberManager.searchNames(name, SUGGESTIONS);
+        if (!close.isEmpty()) {
+            System.out.println("Did you mean:");
+            for (Member m : close) {
+                System.out.println(" - #" + m.getId() + " " + m.getName());
+            }
+        }
+    }
+
+    // print staff with names close to what was typed
+    private static void suggestStaff(StaffManager staffManager, String name) {
+        List<Staff> close = staffManager.searchNames(name, SUGGESTIONS);
+        if (!close.isEmpty()) {
+            System.out.println("Did you mean:");
+            for (Staff st : close) {
+                System.out.println(" - #" + st.getId() + " " + st.getName());
+            }
+        }
+    }
 }
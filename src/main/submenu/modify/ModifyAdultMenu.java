@@ -35,9 +35,10 @@ public class ModifyAdultMenu {
         System.out.println("(4) Modify Contact Phone");
         System.out.println("(5) Modify Address");
         System.out.println("(6) Reassign a Youth to This Guardian");
+        System.out.println("(7) Modify Plan Type for Whole Household");
         System.out.println("(0) Back");
 
-        int choice = ValidateInput.menu(6);
+        int choice = ValidateInput.menu(7);
         CommunityCentreRunner.separate();
 
         switch (choice) {
@@ -101,14 +102,8 @@ public class ModifyAdultMenu {
                 }
 
                 if (m instanceof YouthMember youth) {
-                    AdultMember oldGuardian = youth.getGuardian();
-                    if (oldGuardian != null) {
-                        // unlink from old guardian without removing from system
-                        oldGuardian.getChildren().remove(youth);
-                    }
-                    // assign to current adult
+                    // unlinks from the old guardian without removing from system
                     youth.setGuardian(adult);
-                    adult.getChildren().add(youth);
 
                     System.out.println("Youth #" + youth.getId()
                             + " is now assigned to " + adult.getName() + ".");
@@ -117,6 +112,14 @@ public class ModifyAdultMenu {
                 }
                 break;
             }
+            case 7: {
+                System.out.println("Enter new plan type");
+                System.out.print(" > ");
+                var planType = ValidateInput.planType();
+                int changed = memberManager.setHouseholdPlan(adult, planType);
+                System.out.println("Plan type updated for " + changed + " household member(s).");
+                break;
+            }
             case 0:
                 return MenuStatus.BACK;
             default:
@@ -11,6 +11,7 @@ package main.submenu.modify;
 import java.util.Scanner;
 
 import event.Competition;
+import event.ScheduleConflicts;
 import facility.Facility;
 import facility.FacilityManager;
 import facility.SportsFacility;
@@ -19,6 +20,7 @@ import main.CommunityCentreRunner.MenuStatus;
 import main.ValidateInput;
 import member.Member;
 import member.MemberManager;
+import money.Money;
 import staff.Staff;
 import staff.StaffManager;
 import time.TimeBlock;
@@ -73,10 +75,12 @@ public class ModifyCompetitionMenu {
                         datePart.getMonth(),
                         datePart.getDay(),
                         sd[0], sd[1]);
-                if (event.setTimeBlock(tb)) {
+                ScheduleConflicts conflicts = event.reschedule(tb);
+                if (conflicts.isEmpty()) {
                     System.out.println("Time block successfully updated to " + tb + ".");
                 } else {
                     System.out.println("Unable to update time block due to conflicts.");
+                    System.out.println(conflicts);
                 }
             }
             case 3 -> {
@@ -141,16 +145,16 @@ public class ModifyCompetitionMenu {
             case 6 -> {
                 System.out.println("Enter new prize amount ($)");
                 System.out.print(" > ");
-                double prize = ValidateInput.posDouble();
+                long prize = Money.ofDollars(ValidateInput.posDouble());
                 event.setPrize(prize);
-                System.out.println("Prize updated to $" + prize);
+                System.out.println("Prize updated to " + Money.format(prize));
             }
             case 7 -> {
                 System.out.println("Enter new participation cost ($)");
                 System.out.print(" > ");
-                double cost = ValidateInput.posDouble();
+                long cost = Money.ofDollars(ValidateInput.posDouble());
                 event.setParticipationCost(cost);
-                System.out.println("Participation cost updated to $" + cost);
+                System.out.println("Participation cost updated to " + Money.format(cost));
             }
             case 0 -> {
                 return MenuStatus.BACK;
@@ -11,6 +11,7 @@ package main.submenu.modify;
 import java.util.Scanner;
 
 import event.Fundraiser;
+import event.ScheduleConflicts;
 import facility.Facility;
 import facility.FacilityManager;
 import facility.MeetingFacility;
@@ -18,6 +19,7 @@ import main.CommunityCentreRunner.MenuStatus;
 import main.ValidateInput;
 import member.Member;
 import member.MemberManager;
+import money.Money;
 import staff.Staff;
 import staff.StaffManager;
 import time.TimeBlock;
@@ -60,10 +62,12 @@ public class ModifyFundraiserMenu {
             case 2 -> {
                 TimeBlock tb = ValidateInput.timeBlock();
                 System.out.println(tb);
-                if (event.setTimeBlock(tb)) {
+                ScheduleConflicts conflicts = event.reschedule(tb);
+                if (conflicts.isEmpty()) {
                     System.out.println("Time block successfully updated.");
                 } else {
                     System.out.println("Unable to update time block due to conflicts.");
+                    System.out.println(conflicts);
                 }
             }
             case 3 -> {
@@ -115,8 +119,8 @@ public class ModifyFundraiserMenu {
             }
             case 6 -> {
                 System.out.println("Enter new goal amount ($)");
-                double prize = ValidateInput.posDouble();
-                event.setGoal(prize);
+                long goal = Money.ofDollars(ValidateInput.posDouble());
+                event.setGoal(goal);
                 System.out.println("Goal successfully updated.");
             }
             case 0 -> {
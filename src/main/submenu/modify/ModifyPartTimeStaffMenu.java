@@ -12,6 +12,7 @@ import java.util.Scanner;
 
 import main.CommunityCentreRunner.MenuStatus;
 import main.ValidateInput;
+import money.Money;
 import staff.PartTimeStaff;
 
 public class ModifyPartTimeStaffMenu {
@@ -44,7 +45,7 @@ public class ModifyPartTimeStaffMenu {
             }
             case 3 -> {
                 System.out.println("Enter new hourly wage ($)");
-                double hourlyWage = ValidateInput.posDouble();
+                long hourlyWage = Money.ofDollars(ValidateInput.posDouble());
                 staff.setHourlySalary(hourlyWage);
                 System.out.println("Hourly wage successfully updated.");
             }
@@ -37,7 +37,7 @@ public class ModifyYouthMenu {
         switch (youthChoice) {
             case 1 -> {
                 System.out.println("Enter new age");
-                int age = ValidateInput.adultAge();
+                int age = ValidateInput.childAge();
                 youth.setAge(age);
                 System.out.println("Age successfully updated.");
             }
@@ -3,8 +3,8 @@ package member;
 import java.util.ArrayList;
 import java.util.List;
 
-import event.Competition;
 import event.Event;
+import money.Money;
 
 /**
  * represents an adult member with contact info, billing details, and a list of
@@ -19,8 +19,9 @@ import event.Event;
 public class AdultMember extends Member {
     private String contactPhone;
     private String address;
-    private double totalBillAmount;
-    private double paidBillAmount;
+    private long paidBillAmount;
+    /** running total of the children's bills */
+    private long childrenBills;
     private List<YouthMember> children = new ArrayList<>();
 
     /** create adult member with contact info */
@@ -28,36 +29,23 @@ public class AdultMember extends Member {
         super(age, name, planType);
         this.contactPhone = contactPhone;
         this.address = address;
-        this.totalBillAmount = 0;
         this.paidBillAmount = 0;
         this.billingCycles = 0;
     }
 
-    /** create adult member with initial bill amounts */
+    /** create adult member with billing cycles and amount paid */
     public AdultMember(int age, String name, PlanType planType, String contactPhone, String address,
-            double totalBillAmount, double paidBillAmount) {
-        super(age, name, planType);
-        this.contactPhone = contactPhone;
-        this.address = address;
-        this.totalBillAmount = totalBillAmount;
-        this.paidBillAmount = paidBillAmount;
-    }
-
-    /** create adult member with billing cycles and bill amounts */
-    public AdultMember(int age, String name, PlanType planType, String contactPhone, String address,
-            double totalBillAmount, double paidBillAmount, int billingCycles) {
+            long paidBillAmount, int billingCycles) {
         super(age, name, planType, billingCycles);
         this.contactPhone = contactPhone;
         this.address = address;
-        this.totalBillAmount = totalBillAmount;
         this.paidBillAmount = paidBillAmount;
     }
 
     /** calculate amount due (total bill minus paid amount) */
     @Override
-    public double calculateBill() {
-        totalBillAmount = calculateTotalBill();
-        double bill = totalBillAmount - paidBillAmount;
+    public long calculateBill() {
+        long bill = calculateTotalBill() - paidBillAmount;
         if (bill < 0)
             bill = 0;
         return bill;
@@ -65,33 +53,46 @@ public class AdultMember extends Member {
 
     /** increment billing cycles for this member and children */
     public void incrementBillingCycles() {
-        this.billingCycles++;
+        setBillingCycles(billingCycles + 1);
         for (Member child : children) {
             child.setBillingCycles(child.getBillingCycles() + 1);
         }
     }
 
     /** calculate total bill (base fee + event costs + children bills) */
-    public double calculateTotalBill() {
-        double base = switch (planType) {
-            case MONTHLY -> MONTHLY_BASE;
-            case ANNUAL -> ANNUAL_BASE;
-        };
-        base = base + billingCycles * base;
-        for (Event event : registrations.getEventSchedule()) {
-            if (event instanceof Competition c) {
-                base += c.getParticipationCost();
-                if (this.equals(c.getWinner())) {
-                    base -= c.getPrize();
-                }
-            }
-        }
-        if (!children.isEmpty()) {
-            for (YouthMember child : children) {
-                base += child.calculateBill();
-            }
+    public long calculateTotalBill() {
+        return planCharges() + eventCharges + childrenBills;
+    }
+
+    /** plan fees added by one more billing cycle (this member and children) */
+    public long cycleCharge() {
+        long charge = planBase();
+        for (YouthMember child : children) {
+            charge += child.planBase();
         }
-        return base;
+        return charge;
+    }
+
+    /**
+     * update the running total when a child's bill changes
+     *
+     * @param delta change in the child's bill
+     */
+    void childBillChanged(long delta) {
+        childrenBills += delta;
+        balanceChanged();
+    }
+
+    /** re-rank this member after its own bill changes */
+    @Override
+    protected void billChanged(long delta) {
+        balanceChanged();
+    }
+
+    /** tell the manager the outstanding bill may have changed */
+    private void balanceChanged() {
+        if (manager != null)
+            manager.balanceChanged(this);
     }
 
     /**
@@ -99,13 +100,16 @@ public class AdultMember extends Member {
      * 
      * @param amount payment amount
      */
-    public void payBill(double amount) {
+    public void payBill(long amount) {
         paidBillAmount += amount;
+        balanceChanged();
+        ledger().record(id, BillingLedger.Kind.PAYMENT, -amount);
     }
 
     /** print bill details */
     public void printBill() {
-        System.out.println(this + " | Total bill: " + calculateTotalBill() + " | Paid off: " + paidBillAmount);
+        System.out.println(this + " | Total bill: " + Money.format(calculateTotalBill()) + " | Paid off: "
+                + Money.format(paidBillAmount));
     }
 
     /** personal info string with contact and address */
@@ -146,6 +150,27 @@ public class AdultMember extends Member {
     public boolean addChild(YouthMember child) {
         if (!children.contains(child)) {
             children.add(child);
+            childrenBills += child.calculateBill();
+            balanceChanged();
+            if (manager != null && child.manager == manager)
+                manager.childLinked(this, child);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * unlink a dependent youth member without deleting them
+     * 
+     * @param child youth member
+     * @return true if unlinked
+     */
+    public boolean unlinkChild(YouthMember child) {
+        if (children.remove(child)) {
+            childrenBills -= child.calculateBill();
+            balanceChanged();
+            if (manager != null)
+                manager.childUnlinked(this, child);
             return true;
         }
         return false;
@@ -158,8 +183,7 @@ public class AdultMember extends Member {
      * @return true if removed
      */
     public boolean removeChild(YouthMember child) {
-        if (children.contains(child)) {
-            children.remove(child);
+        if (unlinkChild(child)) {
             main.CommunityCentreRunner.getMemberManager().removeMember(child.getId());
             return true;
         }
@@ -206,31 +230,13 @@ public class AdultMember extends Member {
         this.address = address;
     }
 
-    /** add base fee to total bill */
-    public void BillBase() {
-        double base = switch (planType) {
-            case MONTHLY -> MONTHLY_BASE;
-            case ANNUAL -> ANNUAL_BASE;
-        };
-        this.totalBillAmount += base;
-    }
-
-    /** get additional bill amount */
-    public double getTotalBillAmount() {
-        return totalBillAmount;
-    }
-
-    /**
-     * set additional bill amount
-     * 
-     * @param totalBillAmount new amount
-     */
-    public void setTotalBillAmount(double totalBillAmount) {
-        this.totalBillAmount = totalBillAmount;
+    /** get total bill (before payments) */
+    public long getTotalBillAmount() {
+        return calculateTotalBill();
     }
 
     /** get amount already paid */
-    public double getPaidBillAmount() {
+    public long getPaidBillAmount() {
         return paidBillAmount;
     }
 
@@ -239,7 +245,8 @@ public class AdultMember extends Member {
      * 
      * @param paidBillAmount updated amount
      */
-    public void setPaidBillAmount(double paidBillAmount) {
+    public void setPaidBillAmount(long paidBillAmount) {
         this.paidBillAmount = paidBillAmount;
+        balanceChanged();
     }
 }
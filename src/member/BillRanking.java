@@ -0,0 +1,200 @@
+package member;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * order-statistics tree of adult members by outstanding bill, highest first
+ * (ties by id).
+ * a treap whose nodes keep their subtree size, so top-k lists, pages at any
+ * offset and "owing more than" lists cost O(log n + k). each member's node is
+ * kept in an identity map so it can be found and re-keyed when the balance
+ * changes.
+ *
+ * @author Yubo-Zhao
+ * @version 1.0
+ * @since 2025-06-14
+ */
+class BillRanking {
+    /** tree node, keyed by the balance and id when it was inserted */
+    private static class Node {
+        final AdultMember member;
+        final long balance;
+        final int id;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(AdultMember member, int priority) {
+            this.member = member;
+            this.balance = member.calculateBill();
+            this.id = member.getId();
+            this.priority = priority;
+        }
+    }
+
+    private final Random random = new Random();
+    private Node root;
+    /** each ranked member's node */
+    private final IdentityHashMap<AdultMember, Node> nodes = new IdentityHashMap<>();
+
+    /** get number of ranked members */
+    int size() {
+        return nodes.size();
+    }
+
+    /**
+     * add a member, or re-key them after their balance changed
+     *
+     * @param member adult member
+     */
+    void update(AdultMember member) {
+        Node old = nodes.get(member);
+        if (old != null) {
+            if (old.balance == member.calculateBill() && old.id == member.getId())
+                return;
+            root = delete(root, old);
+        }
+        Node node = new Node(member, random.nextInt());
+        nodes.put(member, node);
+        root = insert(root, node);
+    }
+
+    /**
+     * remove a member
+     *
+     * @param member adult member
+     */
+    void remove(AdultMember member) {
+        Node old = nodes.remove(member);
+        if (old != null)
+            root = delete(root, old);
+    }
+
+    /** remove every member */
+    void clear() {
+        root = null;
+        nodes.clear();
+    }
+
+    /**
+     * members ranked [offset, offset + count)
+     *
+     * @param offset rank of the first member, 0 owes the most
+     * @param count  number of members
+     * @return the members, highest bill first
+     */
+    List<AdultMember> page(int offset, int count) {
+        List<AdultMember> out = new ArrayList<>();
+        collect(root, Math.max(0, offset), Math.max(0, offset) + Math.max(0, count), out);
+        return out;
+    }
+
+    /**
+     * members owing more than an amount
+     *
+     * @param amount amount in cents
+     * @return the members, highest bill first
+     */
+    List<AdultMember> owingMoreThan(long amount) {
+        List<AdultMember> out = new ArrayList<>();
+        collectAbove(root, amount, out);
+        return out;
+    }
+
+    /** in-order walk of ranks [from, to) of a subtree */
+    private void collect(Node node, int from, int to, List<AdultMember> out) {
+        if (node == null || from >= to || from >= node.size || to <= 0)
+            return;
+        int leftSize = size(node.left);
+        collect(node.left, from, to, out);
+        if (from <= leftSize && leftSize < to)
+            out.add(node.member);
+        collect(node.right, from - leftSize - 1, to - leftSize - 1, out);
+    }
+
+    /** in-order walk of a subtree's nodes with balance above an amount */
+    private void collectAbove(Node node, long amount, List<AdultMember> out) {
+        if (node == null)
+            return;
+        collectAbove(node.left, amount, out);
+        if (node.balance > amount) {
+            out.add(node.member);
+            collectAbove(node.right, amount, out);
+        }
+    }
+
+    /** whether a sorts before b */
+    private static boolean before(Node a, Node b) {
+        if (a.balance != b.balance)
+            return a.balance > b.balance;
+        return a.id < b.id;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node resize(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node l = node.left;
+        node.left = l.right;
+        l.right = resize(node);
+        return resize(l);
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node r = node.right;
+        node.right = r.left;
+        r.left = resize(node);
+        return resize(r);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null)
+            return added;
+        if (before(added, node)) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority)
+                return rotateRight(node);
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority)
+                return rotateLeft(node);
+        }
+        return resize(node);
+    }
+
+    private static Node delete(Node node, Node target) {
+        if (node == null)
+            return null;
+        if (node == target)
+            return merge(node.left, node.right);
+        if (before(target, node))
+            node.left = delete(node.left, target);
+        else
+            node.right = delete(node.right, target);
+        return resize(node);
+    }
+
+    /** join two subtrees where every node of a sorts before b */
+    private static Node merge(Node a, Node b) {
+        if (a == null)
+            return b;
+        if (b == null)
+            return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            return resize(a);
+        }
+        b.left = merge(a, b.left);
+        return resize(b);
+    }
+}
@@ -0,0 +1,222 @@
+package member;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import money.Money;
+import time.TimeBlock;
+
+/**
+ * append-only record of every change to a member's bill: plan fees, event
+ * charges, prizes and payments.
+ * entries are stored as parallel primitive arrays, and each member has an
+ * index of their own entry positions (in time order) so balances and
+ * statements over a date range only read that member's entries.
+ * file format: numEntries, then one entry per line as
+ * "memberId kind amount hoursSinceEpoch".
+ *
+ * @author Yubo-Zhao
+ * @version 1.0
+ * @since 2025-06-14
+ */
+public class BillingLedger {
+    /** kinds of ledger entries */
+    public enum Kind {
+        PLAN_FEE, CHARGE, PRIZE, PAYMENT
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** number of entries */
+    private int size;
+    /** member each entry belongs to */
+    private int[] memberIds = new int[INITIAL_CAPACITY];
+    /** entry kind (Kind ordinal) */
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+    /** signed amount in cents, positive raises the bill */
+    private long[] amounts = new long[INITIAL_CAPACITY];
+    /** when the entry was recorded, hours since epoch */
+    private double[] times = new double[INITIAL_CAPACITY];
+    /** entry positions per member id, in time order */
+    private HashMap<Integer, IntList> byMember = new HashMap<>();
+    /** whether record() appends (off while replaying saved data) */
+    private boolean recording = true;
+
+    /** growable int array */
+    private static class IntList {
+        int[] data = new int[8];
+        int size;
+
+        void add(int value) {
+            if (size == data.length)
+                data = Arrays.copyOf(data, size * 2);
+            data[size++] = value;
+        }
+    }
+
+    /** create empty ledger */
+    public BillingLedger() {
+    }
+
+    /**
+     * create ledger from file
+     *
+     * @param filename ledger data file path
+     */
+    public BillingLedger(String filename) {
+        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
+            int numEntries = Integer.parseInt(br.readLine().trim());
+            for (int i = 0; i < numEntries; i++) {
+                String[] parts = br.readLine().trim().split(" ");
+                append(Integer.parseInt(parts[0]), Kind.valueOf(parts[1]), Money.parse(parts[2]),
+                        Double.parseDouble(parts[3]));
+            }
+        } catch (IOException iox) {
+            System.out.println("Error reading ledger file: " + iox.getMessage());
+        }
+    }
+
+    /**
+     * save ledger to file
+     *
+     * @param filepath output file path
+     */
+    public void save(String filepath) {
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(filepath))) {
+            bw.write(size + "\n");
+            for (int i = 0; i < size; i++) {
+                bw.write(memberIds[i] + " " + KINDS[kinds[i]] + " " + Money.toPlainString(amounts[i]) + " " + times[i] + "\n");
+            }
+        } catch (IOException iox) {
+            System.out.println("Error writing to ledger file: " + iox.getMessage());
+        }
+    }
+
+    /**
+     * record an entry at the current time
+     *
+     * @param memberId member id
+     * @param kind     entry kind
+     * @param amount   signed amount in cents, positive raises the bill
+     */
+    public void record(int memberId, Kind kind, long amount) {
+        if (!recording || amount == 0)
+            return;
+        append(memberId, kind, amount,
+                main.CommunityCentreRunner.getTimeManager().getCurrentTime().hoursSinceEpoch());
+    }
+
+    /** append an entry, growing the arrays as needed */
+    private void append(int memberId, Kind kind, long amount, double time) {
+        if (size == memberIds.length) {
+            int capacity = size * 2;
+            memberIds = Arrays.copyOf(memberIds, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            times = Arrays.copyOf(times, capacity);
+        }
+        memberIds[size] = memberId;
+        kinds[size] = (byte) kind.ordinal();
+        amounts[size] = amount;
+        times[size] = time;
+        byMember.computeIfAbsent(memberId, k -> new IntList()).add(size);
+        size++;
+    }
+
+    /**
+     * turn recording on or off (off while registrations are replayed from file)
+     *
+     * @param recording whether record() appends
+     */
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    /** get number of entries */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * first position in a member's index recorded at or after a time
+     *
+     * @param list member's entry positions
+     * @param time hours since epoch
+     * @return index into list
+     */
+    private int lowerBound(IntList list, double time) {
+        int lo = 0;
+        int hi = list.size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (times[list.data[mid]] < time)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * sum of a member's entries recorded within [from, to)
+     *
+     * @param memberId member id
+     * @param kind     only this kind, or null for all
+     * @param from     hours since epoch, inclusive
+     * @param to       hours since epoch, exclusive
+     * @return the sum in cents
+     */
+    public long total(int memberId, Kind kind, double from, double to) {
+        IntList list = byMember.get(memberId);
+        if (list == null)
+            return 0;
+        long sum = 0;
+        int end = lowerBound(list, to);
+        for (int i = lowerBound(list, from); i < end; i++) {
+            int e = list.data[i];
+            if (kind == null || kinds[e] == kind.ordinal())
+                sum += amounts[e];
+        }
+        return sum;
+    }
+
+    /**
+     * net change to a member's bill over all recorded history
+     *
+     * @param memberId member id
+     * @return the balance in cents
+     */
+    public long balance(int memberId) {
+        return total(memberId, null, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * statement of a member's entries recorded within [from, to)
+     *
+     * @param memberId member id
+     * @param from     hours since epoch, inclusive
+     * @param to       hours since epoch, exclusive
+     * @return one line per entry followed by the net total
+     */
+    public String statement(int memberId, double from, double to) {
+        String s = "";
+        IntList list = byMember.get(memberId);
+        long net = 0;
+        if (list != null) {
+            int end = lowerBound(list, to);
+            for (int i = lowerBound(list, from); i < end; i++) {
+                int e = list.data[i];
+                net += amounts[e];
+                s += String.format("%s | %-8s | %10s\n", TimeBlock.fromHoursSinceEpoch(times[e]), KINDS[kinds[e]],
+                        Money.toPlainString(amounts[e]));
+            }
+        }
+        return s + "Net change: " + Money.format(net);
+    }
+}
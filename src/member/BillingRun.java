@@ -0,0 +1,141 @@
+package member;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import money.Money;
+
+/**
+ * one billing run over every adult member on a plan.
+ * bills and payments are computed in parallel on the fork/join pool without
+ * touching the members, then applied in one pass (billing cycles and ledger
+ * entries) and written to a single statement file.
+ *
+ * @author Yubo-Zhao
+ * @version 1.0
+ * @since 2025-06-14
+ */
+public class BillingRun {
+    /** members per leaf task */
+    private static final int THRESHOLD = 1024;
+
+    /** members billed in this run */
+    private final ArrayList<AdultMember> billing = new ArrayList<>();
+    /** amount each member was billed */
+    private final long[] billed;
+    /** amount each member paid */
+    private final long[] paid;
+    /** statement line for each member */
+    private final String[] lines;
+    /** total billed */
+    private long totalBilled;
+    /** total paid */
+    private long totalPaid;
+
+    /**
+     * create a run for every adult member on a plan
+     *
+     * @param members  all members
+     * @param planType plan being billed
+     */
+    public BillingRun(List<Member> members, Member.PlanType planType) {
+        for (Member m : members) {
+            if (m.getPlanType() == planType && m instanceof AdultMember am) {
+                billing.add(am);
+            }
+        }
+        billed = new long[billing.size()];
+        paid = new long[billing.size()];
+        lines = new String[billing.size()];
+    }
+
+    /** computes bills for a range of members, returns {billed, paid} totals */
+    @SuppressWarnings("serial")
+    private class Compute extends RecursiveTask<long[]> {
+        private final int lo;
+        private final int hi;
+
+        Compute(int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (hi - lo <= THRESHOLD) {
+                for (int i = lo; i < hi; i++) {
+                    AdultMember am = billing.get(i);
+                    billed[i] = am.calculateBill();
+                    // the new cycle is added before the outstanding bill is paid off
+                    long total = am.calculateTotalBill() + am.cycleCharge();
+                    paid[i] = am.getPaidBillAmount() < total ? Math.max(0L, total - am.getPaidBillAmount()) : 0;
+                    lines[i] = "Member #" + am.getId() + " " + am.getName() + " was billed "
+                            + Money.toPlainString(billed[i]);
+                }
+                return new long[] { Money.sum(billed, lo, hi), Money.sum(paid, lo, hi) };
+            }
+            int mid = (lo + hi) >>> 1;
+            Compute left = new Compute(lo, mid);
+            left.fork();
+            long[] right = new Compute(mid, hi).compute();
+            long[] totals = left.join();
+            totals[0] += right[0];
+            totals[1] += right[1];
+            return totals;
+        }
+    }
+
+    /**
+     * compute, apply and write the run
+     *
+     * @param statementPath file to write the statement to
+     */
+    public void run(String statementPath) {
+        long[] totals = ForkJoinPool.commonPool().invoke(new Compute(0, billing.size()));
+        totalBilled = totals[0];
+        totalPaid = totals[1];
+
+        for (int i = 0; i < billing.size(); i++) {
+            AdultMember am = billing.get(i);
+            am.incrementBillingCycles();
+            if (paid[i] > 0) {
+                am.payBill(paid[i]);
+            }
+        }
+
+        File parent = new File(statementPath).getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(statementPath))) {
+            for (String line : lines) {
+                bw.write(line + "\n");
+            }
+            bw.write("Total billed: " + Money.toPlainString(totalBilled) + "\n");
+            bw.write("Total paid: " + Money.toPlainString(totalPaid) + "\n");
+        } catch (IOException iox) {
+            System.out.println("Error writing billing statement: " + iox.getMessage());
+        }
+    }
+
+    /** get number of members billed */
+    public int size() {
+        return billing.size();
+    }
+
+    /** get total billed */
+    public long getTotalBilled() {
+        return totalBilled;
+    }
+
+    /** get total paid */
+    public long getTotalPaid() {
+        return totalPaid;
+    }
+}
@@ -0,0 +1,157 @@
+package member;
+
+import java.util.Arrays;
+
+/**
+ * household graph of guardians and children, by member id.
+ * each member id maps to the id of its household's head (the guardian), and
+ * each head has an int array of its children's ids, so finding a member's
+ * household is O(1) and listing it is O(household size).
+ * kept in sync by MemberManager as children are linked and unlinked.
+ *
+ * @author Yubo-Zhao
+ * @version 1.0
+ * @since 2025-06-14
+ */
+class HouseholdIndex {
+    /** marks an id with no household */
+    static final int NONE = -1;
+    private static final int[] NO_CHILDREN = new int[0];
+
+    /** head of each member's household, by member id */
+    private int[] headOf = new int[64];
+    /** children of each head, by head id (first childCount entries used) */
+    private int[][] children = new int[64][];
+    /** number of children of each head */
+    private int[] childCount = new int[64];
+
+    /** create empty index */
+    HouseholdIndex() {
+        Arrays.fill(headOf, NONE);
+    }
+
+    /** grow the arrays to hold an id */
+    private void ensure(int id) {
+        if (id < headOf.length)
+            return;
+        int capacity = Math.max(headOf.length * 2, id + 1);
+        int old = headOf.length;
+        headOf = Arrays.copyOf(headOf, capacity);
+        Arrays.fill(headOf, old, capacity, NONE);
+        children = Arrays.copyOf(children, capacity);
+        childCount = Arrays.copyOf(childCount, capacity);
+    }
+
+    /**
+     * start a household headed by an adult
+     *
+     * @param adultId adult member id
+     */
+    void addHead(int adultId) {
+        ensure(adultId);
+        headOf[adultId] = adultId;
+    }
+
+    /**
+     * link a child into a guardian's household
+     *
+     * @param headId  guardian id
+     * @param childId youth id
+     */
+    void link(int headId, int childId) {
+        ensure(Math.max(headId, childId));
+        if (headOf[childId] != NONE)
+            unlink(headOf[childId], childId);
+        if (children[headId] == null)
+            children[headId] = new int[2];
+        if (childCount[headId] == children[headId].length)
+            children[headId] = Arrays.copyOf(children[headId], childCount[headId] * 2);
+        children[headId][childCount[headId]++] = childId;
+        headOf[childId] = headId;
+    }
+
+    /**
+     * unlink a child from a guardian's household
+     *
+     * @param headId  guardian id
+     * @param childId youth id
+     */
+    void unlink(int headId, int childId) {
+        if (headId < 0 || headId >= headOf.length || childId >= headOf.length)
+            return;
+        int[] kids = children[headId];
+        for (int i = 0; i < childCount[headId]; i++) {
+            if (kids[i] == childId) {
+                // shift down so children stay in the order they joined
+                System.arraycopy(kids, i + 1, kids, i, --childCount[headId] - i);
+                headOf[childId] = NONE;
+                return;
+            }
+        }
+    }
+
+    /**
+     * remove a member; a head's children are left without a household
+     *
+     * @param id member id
+     */
+    void remove(int id) {
+        if (id < 0 || id >= headOf.length || headOf[id] == NONE)
+            return;
+        if (headOf[id] == id) {
+            for (int i = 0; i < childCount[id]; i++)
+                headOf[children[id][i]] = NONE;
+            children[id] = null;
+            childCount[id] = 0;
+        } else {
+            unlink(headOf[id], id);
+        }
+        headOf[id] = NONE;
+    }
+
+    /** remove every household */
+    void clear() {
+        Arrays.fill(headOf, NONE);
+        Arrays.fill(children, null);
+        Arrays.fill(childCount, 0);
+    }
+
+    /**
+     * head of a member's household
+     *
+     * @param id member id
+     * @return the head's id, or NONE
+     */
+    int headOf(int id) {
+        return id < 0 || id >= headOf.length ? NONE : headOf[id];
+    }
+
+    /**
+     * children of a household's head
+     *
+     * @param headId head id
+     * @return copy of the child ids
+     */
+    int[] childrenOf(int headId) {
+        if (headId < 0 || headId >= headOf.length || children[headId] == null)
+            return NO_CHILDREN;
+        return Arrays.copyOf(children[headId], childCount[headId]);
+    }
+
+    /**
+     * every member of a member's household, head first
+     *
+     * @param id member id
+     * @return member ids, empty if not in a household
+     */
+    int[] household(int id) {
+        int head = headOf(id);
+        if (head == NONE)
+            return NO_CHILDREN;
+        int[] ids = new int[childCount[head] + 1];
+        ids[0] = head;
+        if (childCount[head] > 0)
+            System.arraycopy(children[head], 0, ids, 1, childCount[head]);
+        return ids;
+    }
+}
@@ -4,8 +4,12 @@ package member;
 import java.util.ArrayList;
 import java.util.Comparator;
 
+import event.Competition;
 import event.Event;
+import money.Money;
 import time.Schedule;
+import time.TimeBlock;
+import time.TimeBlock.Month;
 
 /**
  * abstract base for members: common info, billing plan, event regs.
@@ -16,17 +20,17 @@ import time.Schedule;
  * @since 2025-06-03
  */
 public abstract class Member {
-    /** monthly base fee */
-    public static final double MONTHLY_BASE = 35.00;
-    /** annual base fee */
-    public static final double ANNUAL_BASE = 350.00;
+    /** monthly base fee (cents) */
+    public static final long MONTHLY_BASE = 3500;
+    /** annual base fee (cents) */
+    public static final long ANNUAL_BASE = 35000;
     /** age threshold for adult membership */
     public static final int ADULT_AGE = 18;
 
     /** unique member id */
     protected int id;
-    /** member age */
-    protected int age;
+    /** date of birth (a whole day), age is computed from it */
+    protected TimeBlock birthDate;
     /** full name */
     protected String name;
     /** schedule of registered events */
@@ -35,6 +39,10 @@ public abstract class Member {
     protected PlanType planType;
     /** number of billing cycles */
     protected int billingCycles;
+    /** running total of event charges (participation costs less prizes won) */
+    protected long eventCharges;
+    /** manager indexing this member, null if not managed */
+    MemberManager manager;
 
     /** available billing plans */
     public enum PlanType {
@@ -44,12 +52,12 @@ public abstract class Member {
     /**
      * create member with age, name, plan (starts at 0 billing cycles)
      *
-     * @param age      member age
+     * @param age      member age, born on JAN 1 of that many years ago
      * @param name     full name
      * @param planType billing plan
      */
     public Member(int age, String name, PlanType planType) {
-        this.age = age;
+        this.birthDate = birthDateForAge(age);
         this.name = name;
         this.planType = planType;
         this.registrations = new Schedule();
@@ -59,28 +67,130 @@ public abstract class Member {
     /**
      * create member with age, name, plan, and billing cycles
      *
-     * @param age           member age
+     * @param age           member age, born on JAN 1 of that many years ago
      * @param name          full name
      * @param planType      billing plan
      * @param billingCycles starting billing cycles
      */
     public Member(int age, String name, PlanType planType, int billingCycles) {
-        this.age = age;
+        this.birthDate = birthDateForAge(age);
         this.name = name;
         this.planType = planType;
         this.registrations = new Schedule();
         this.billingCycles = billingCycles;
     }
 
-    /** calculate total bill (plan + subclass charges) */
-    public abstract double calculateBill();
+    /** calculate total bill in cents (plan + subclass charges) */
+    public abstract long calculateBill();
+
+    /** plan fee charged per billing cycle */
+    public long planBase() {
+        return switch (planType) {
+            case MONTHLY -> MONTHLY_BASE;
+            case ANNUAL -> ANNUAL_BASE;
+        };
+    }
+
+    /** plan fees owed so far (the first cycle plus one per billing cycle) */
+    public long planCharges() {
+        return planBase() + billingCycles * planBase();
+    }
+
+    /**
+     * participation cost this member is charged for one registered event
+     *
+     * @param event registered event
+     * @return the charge
+     */
+    public long participationCharge(Event event) {
+        if (event instanceof Competition c)
+            return c.getParticipationCost();
+        return 0;
+    }
+
+    /**
+     * prize this member is credited for one registered event
+     *
+     * @param event registered event
+     * @return the prize if this member won, otherwise 0
+     */
+    public long prizeCredit(Event event) {
+        if (event instanceof Competition c && this.equals(c.getWinner()))
+            return c.getPrize();
+        return 0;
+    }
+
+    /**
+     * what this member is charged for one registered event
+     *
+     * @param event registered event
+     * @return participation cost less any prize won
+     */
+    public long eventCost(Event event) {
+        return participationCharge(event) - prizeCredit(event);
+    }
+
+    /**
+     * add an event's charges to the running total; call after the event's
+     * cost, prize or winner changes
+     *
+     * @param event registered event
+     */
+    public void addEventCharges(Event event) {
+        adjustEventCharges(participationCharge(event), prizeCredit(event));
+    }
+
+    /**
+     * take an event's charges off the running total; call before the event's
+     * cost, prize or winner changes
+     *
+     * @param event registered event
+     */
+    public void removeEventCharges(Event event) {
+        adjustEventCharges(-participationCharge(event), -prizeCredit(event));
+    }
+
+    /**
+     * change the running total of event charges and record it in the ledger
+     *
+     * @param charge change in participation charges
+     * @param prize  change in prizes credited
+     */
+    public void adjustEventCharges(long charge, long prize) {
+        eventCharges += charge - prize;
+        billChanged(charge - prize);
+        BillingLedger ledger = ledger();
+        ledger.record(id, BillingLedger.Kind.CHARGE, charge);
+        ledger.record(id, BillingLedger.Kind.PRIZE, -prize);
+    }
+
+    /** the ledger bill changes are recorded in */
+    protected static BillingLedger ledger() {
+        return main.CommunityCentreRunner.getMemberManager().getLedger();
+    }
+
+    /** get running total of event charges */
+    public long getEventCharges() {
+        return eventCharges;
+    }
+
+    /**
+     * hook for subclasses when this member's bill changes
+     *
+     * @param delta change in the bill
+     */
+    protected void billChanged(long delta) {
+    }
 
     /** return personal info string */
     public abstract String personalInfo();
 
     /** set billing cycles */
     public void setBillingCycles(int billingCycles) {
+        long before = planCharges();
         this.billingCycles = billingCycles;
+        billChanged(planCharges() - before);
+        ledger().record(id, BillingLedger.Kind.PLAN_FEE, planCharges() - before);
     }
 
     /** get billing cycles */
@@ -92,10 +202,10 @@ public abstract class Member {
     @Override
     public String toString() {
         return "#" + id
-                + " | Age: " + age
+                + " | Age: " + getAge()
                 + " | Name: " + name
                 + " | Plan: " + planType
-                + " | Gross bill: " + String.format("$%.2f", calculateBill());
+                + " | Gross bill: " + Money.format(calculateBill());
     }
 
     /** list upcoming/ongoing events */
@@ -116,9 +226,30 @@ public abstract class Member {
         return s;
     }
 
-    /** register for an event */
-    public void registerFor(Event event) {
-        registrations.add(event);
+    /**
+     * register for an event and charge for it
+     *
+     * @param event event to register for
+     * @return false if it conflicts or is already registered
+     */
+    public boolean registerFor(Event event) {
+        if (!registrations.add(event))
+            return false;
+        addEventCharges(event);
+        return true;
+    }
+
+    /**
+     * unregister from an event and drop its charges
+     *
+     * @param event registered event
+     * @return false if not registered
+     */
+    public boolean unregisterFrom(Event event) {
+        if (!registrations.remove(event))
+            return false;
+        removeEventCharges(event);
+        return true;
     }
 
     /** get member id */
@@ -131,14 +262,86 @@ public abstract class Member {
         this.id = id;
     }
 
-    /** get age */
+    /** get age on the current date */
     public int getAge() {
+        return ageOn(main.CommunityCentreRunner.getTimeManager().getCurrentTime());
+    }
+
+    /**
+     * get age on a date
+     *
+     * @param date the date
+     * @return completed years since birth
+     */
+    public int ageOn(TimeBlock date) {
+        return ageOn(birthDate, date);
+    }
+
+    /**
+     * age on a date of someone born on a date
+     *
+     * @param birthDate date of birth
+     * @param date      the date
+     * @return completed years since birth
+     */
+    static int ageOn(TimeBlock birthDate, TimeBlock date) {
+        int age = date.getYear() - birthDate.getYear();
+        TimeBlock birthday = birthdayIn(birthDate, date.getYear());
+        if (date.getMonth().ordinal() < birthday.getMonth().ordinal()
+                || (date.getMonth() == birthday.getMonth() && date.getDay() < birthday.getDay()))
+            age--;
         return age;
     }
 
-    /** set age */
+    /**
+     * set age by moving the birth date to JAN 1 of that many years ago, so the
+     * age goes up each new year
+     *
+     * @param age new age
+     */
     public void setAge(int age) {
-        this.age = age;
+        setBirthDate(birthDateForAge(age));
+    }
+
+    /** get date of birth */
+    public TimeBlock getBirthDate() {
+        return birthDate;
+    }
+
+    /** set date of birth */
+    public void setBirthDate(TimeBlock birthDate) {
+        this.birthDate = birthDate;
+        if (manager != null)
+            manager.birthDateChanged(this);
+    }
+
+    /**
+     * birthday in a given year (FEB 29 birthdays fall on MAR 1 in other years)
+     *
+     * @param year the year
+     * @return the whole-day block
+     */
+    public TimeBlock birthdayIn(int year) {
+        return birthdayIn(birthDate, year);
+    }
+
+    /** birthday in a given year of someone born on a date */
+    static TimeBlock birthdayIn(TimeBlock birthDate, int year) {
+        if (birthDate.getMonth() == Month.FEB && birthDate.getDay() == 29 && !TimeBlock.isLeapYear(year))
+            return new TimeBlock(year, Month.MAR, 1);
+        return new TimeBlock(year, birthDate.getMonth(), birthDate.getDay());
+    }
+
+    /**
+     * birth date for an age entered without one: JAN 1 of that many years
+     * ago, so the age goes up each new year
+     *
+     * @param age age
+     * @return the birth date
+     */
+    public static TimeBlock birthDateForAge(int age) {
+        int year = main.CommunityCentreRunner.getTimeManager().getCurrentTime().getYear();
+        return new TimeBlock(year - age, Month.JAN, 1);
     }
 
     /** get name */
@@ -149,6 +352,8 @@ public abstract class Member {
     /** set name */
     public void setName(String name) {
         this.name = name;
+        if (manager != null)
+            manager.renamed(this);
     }
 
     /** get billing plan */
@@ -158,7 +363,10 @@ public abstract class Member {
 
     /** set billing plan */
     public void setPlanType(PlanType planType) {
+        long before = planCharges();
         this.planType = planType;
+        billChanged(planCharges() - before);
+        ledger().record(id, BillingLedger.Kind.PLAN_FEE, planCharges() - before);
     }
 
     /** get registrations schedule */
@@ -0,0 +1,204 @@
+package member;
+
+import java.util.Arrays;
+
+import time.TimeBlock;
+
+/**
+ * columnar copy of the member list for dashboards.
+ * each member is one row across parallel primitive arrays (id, birth date,
+ * plan, youth/adult, billing cycles, bill), so statistics are plain loops
+ * over arrays instead of virtual calls on every Member. rows are found by id
+ * and removed by moving the last row into the gap.
+ * birth dates are stored as yyyymmdd, so an age on any date is
+ * (date - birth) / 10000 and rows never need updating as members age.
+ *
+ * @author Yubo-Zhao
+ * @version 1.0
+ * @since 2025-06-14
+ */
+public class MemberColumns {
+    private static final int NONE = -1;
+
+    /** number of rows */
+    private int size;
+    private int[] ids = new int[64];
+    /** birth date as yyyymmdd */
+    private int[] births = new int[64];
+    /** PlanType ordinal */
+    private byte[] plans = new byte[64];
+    /** 1 for adults, 0 for youths */
+    private byte[] adults = new byte[64];
+    private int[] cycles = new int[64];
+    /** calculateBill() in cents: outstanding for adults, own bill for youths */
+    private long[] bills = new long[64];
+    /** row of each member id */
+    private int[] rowOf = new int[64];
+
+    /** create empty columns */
+    MemberColumns() {
+        Arrays.fill(rowOf, NONE);
+    }
+
+    /**
+     * date as yyyymmdd
+     *
+     * @param date the date
+     * @return the key
+     */
+    static int dateKey(TimeBlock date) {
+        return date.getYear() * 10000 + (date.getMonth().ordinal() + 1) * 100 + date.getDay();
+    }
+
+    /**
+     * add a member's row or refresh it
+     *
+     * @param member member
+     */
+    void update(Member member) {
+        int id = member.getId();
+        if (id >= rowOf.length) {
+            int old = rowOf.length;
+            rowOf = Arrays.copyOf(rowOf, Math.max(old * 2, id + 1));
+            Arrays.fill(rowOf, old, rowOf.length, NONE);
+        }
+        int row = rowOf[id];
+        if (row == NONE) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                births = Arrays.copyOf(births, capacity);
+                plans = Arrays.copyOf(plans, capacity);
+                adults = Arrays.copyOf(adults, capacity);
+                cycles = Arrays.copyOf(cycles, capacity);
+                bills = Arrays.copyOf(bills, capacity);
+            }
+            row = size++;
+            rowOf[id] = row;
+        }
+        ids[row] = id;
+        births[row] = dateKey(member.getBirthDate());
+        plans[row] = (byte) member.getPlanType().ordinal();
+        adults[row] = (byte) (member instanceof AdultMember ? 1 : 0);
+        cycles[row] = member.getBillingCycles();
+        bills[row] = member.calculateBill();
+    }
+
+    /**
+     * remove a member's row
+     *
+     * @param id member id
+     */
+    void remove(int id) {
+        if (id < 0 || id >= rowOf.length || rowOf[id] == NONE)
+            return;
+        int row = rowOf[id];
+        int last = --size;
+        ids[row] = ids[last];
+        births[row] = births[last];
+        plans[row] = plans[last];
+        adults[row] = adults[last];
+        cycles[row] = cycles[last];
+        bills[row] = bills[last];
+        rowOf[ids[row]] = row;
+        rowOf[id] = NONE;
+    }
+
+    /** get number of rows */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * members per age bucket on a date
+     *
+     * @param date        the date
+     * @param bucketYears width of each bucket in years
+     * @return counts, index i holding ages [i * bucketYears, (i + 1) * bucketYears)
+     */
+    public int[] ageHistogram(TimeBlock date, int bucketYears) {
+        int today = dateKey(date);
+        int maxAge = 0;
+        for (int i = 0; i < size; i++)
+            maxAge = Math.max(maxAge, (today - births[i]) / 10000);
+        int[] counts = new int[maxAge / bucketYears + 1];
+        for (int i = 0; i < size; i++) {
+            int age = Math.max(0, (today - births[i]) / 10000);
+            counts[age / bucketYears]++;
+        }
+        return counts;
+    }
+
+    /**
+     * average age on a date
+     *
+     * @param date the date
+     * @return the average, 0 if no members
+     */
+    public double averageAge(TimeBlock date) {
+        int today = dateKey(date);
+        long sum = 0;
+        for (int i = 0; i < size; i++)
+            sum += (today - births[i]) / 10000;
+        return size == 0 ? 0 : (double) sum / size;
+    }
+
+    /**
+     * members on each plan
+     *
+     * @return counts indexed by PlanType ordinal
+     */
+    public int[] planMix() {
+        int[] counts = new int[Member.PlanType.values().length];
+        for (int i = 0; i < size; i++)
+            counts[plans[i]]++;
+        return counts;
+    }
+
+    /**
+     * number of youths and adults
+     *
+     * @return {youths, adults}
+     */
+    public int[] youthAdultCounts() {
+        int adultCount = 0;
+        for (int i = 0; i < size; i++)
+            adultCount += adults[i];
+        return new int[] { size - adultCount, adultCount };
+    }
+
+    /**
+     * total outstanding bill over adult members (youth bills are included in
+     * their guardian's)
+     *
+     * @return the total in cents
+     */
+    public long totalOutstanding() {
+        long sum = 0;
+        for (int i = 0; i < size; i++)
+            sum += bills[i] * adults[i];
+        return sum;
+    }
+
+    /**
+     * average outstanding bill over adult members
+     *
+     * @return the average in cents, 0 if no adults
+     */
+    public long averageOutstanding() {
+        int adultCount = youthAdultCounts()[1];
+        return adultCount == 0 ? 0 : Math.round((double) totalOutstanding() / adultCount);
+    }
+
+    /**
+     * average billing cycles per member
+     *
+     * @return the average, 0 if no members
+     */
+    public double averageBillingCycles() {
+        long sum = 0;
+        for (int i = 0; i < size; i++)
+            sum += cycles[i];
+        return size == 0 ? 0 : (double) sum / size;
+    }
+}
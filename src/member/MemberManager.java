@@ -6,21 +6,32 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 
-import event.Competition;
 import event.Event;
 import main.CommunityCentreRunner;
+import money.Money;
+import search.NameIndex;
+import time.TimeBlock;
 
 /**
  * manages member collection: load from file, add/remove, search, print bills,
  * list names.
- * file format: numMembers, id, age, name, planType, billingCycles, then for
- * adults phone,address,totalAmount,paidAmount,numChildren,childIds; for youth
- * guardianId.
+ * file format: numMembers, id, birth month, birth day, birth year, name,
+ * planType, billingCycles, then for adults
+ * phone,address,totalAmount,paidAmount,numChildren,childIds; for youth
+ * guardianId. older files with a single age line instead of the birth date
+ * still load (born JAN 1 of that many years ago).
+ * youths are promoted to adults on their 18th birthday, driven by a queue
+ * ordered by that date.
  *
  * @author Yubo-Zhao
  * @version 1.0
@@ -29,6 +40,30 @@ import main.CommunityCentreRunner;
 public class MemberManager {
     /** list of all members */
     private ArrayList<Member> members = new ArrayList<>();
+    /** history of every bill change */
+    private BillingLedger ledger = new BillingLedger();
+    /** adult members ranked by outstanding bill */
+    private BillRanking ranking = new BillRanking();
+    /** prefix and fuzzy name index */
+    private NameIndex<Member> names = new NameIndex<>();
+    /** guardian and children links by id */
+    private HouseholdIndex households = new HouseholdIndex();
+    /** columnar copy for dashboards, built on first use */
+    private MemberColumns columns;
+    /** youths by 18th birthday, soonest first (entries go stale on removal) */
+    private PriorityQueue<ComingOfAge> comingOfAge = new PriorityQueue<>(
+            Comparator.comparingDouble((ComingOfAge c) -> c.adultAt));
+
+    /** a youth and the hour they become an adult */
+    private static class ComingOfAge {
+        final YouthMember youth;
+        final double adultAt;
+
+        ComingOfAge(YouthMember youth) {
+            this.youth = youth;
+            this.adultAt = youth.birthdayIn(youth.getBirthDate().getYear() + Member.ADULT_AGE).hoursSinceEpoch();
+        }
+    }
 
     /** create empty manager */
     public MemberManager() {
@@ -43,34 +78,49 @@ public class MemberManager {
     public MemberManager(String filename) {
         members = new ArrayList<>();
         Map<Integer, Integer> youthGuardian = new HashMap<>();
+        TimeBlock now = CommunityCentreRunner.getTimeManager().getCurrentTime();
 
         try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
             int numMembers = Integer.parseInt(br.readLine().trim());
             for (int i = 0; i < numMembers; i++) {
                 int id = Integer.parseInt(br.readLine().trim());
-                int age = Integer.parseInt(br.readLine().trim());
+                String line = br.readLine().trim();
+                TimeBlock birthDate;
+                try {
+                    birthDate = Member.birthDateForAge(Integer.parseInt(line));
+                } catch (NumberFormatException nfe) {
+                    TimeBlock.Month month = TimeBlock.Month.valueOf(line.toUpperCase());
+                    int day = Integer.parseInt(br.readLine().trim());
+                    int year = Integer.parseInt(br.readLine().trim());
+                    birthDate = new TimeBlock(year, month, day);
+                }
                 String name = br.readLine().trim();
                 Member.PlanType pType = Member.PlanType.valueOf(br.readLine().trim().toUpperCase());
                 int billingCycles = Integer.parseInt(br.readLine());
+                int age = Member.ageOn(birthDate, now);
                 if (age >= Member.ADULT_AGE) {
                     String phone = br.readLine().trim();
                     String address = br.readLine().trim();
-                    double totalAmount = Double.parseDouble(br.readLine().trim());
-                    double paidAmount = Double.parseDouble(br.readLine().trim());
+                    br.readLine(); // total bill, recomputed from plan and registrations
+                    long paidAmount = Money.parse(br.readLine());
                     int numChildren = Integer.parseInt(br.readLine().trim());
                     List<Integer> childIds = new ArrayList<>();
                     for (int j = 0; j < numChildren; j++) {
                         childIds.add(Integer.parseInt(br.readLine().trim()));
                     }
-                    AdultMember adult = new AdultMember(age, name, pType, phone, address, totalAmount, paidAmount,
+                    AdultMember adult = new AdultMember(age, name, pType, phone, address, paidAmount,
                             billingCycles);
                     adult.setId(id);
+                    adult.setBirthDate(birthDate);
                     members.add(adult);
+                    track(adult);
                 } else {
                     int guardianId = Integer.parseInt(br.readLine().trim());
                     YouthMember youth = new YouthMember(age, name, pType, null, billingCycles);
                     youth.setId(id);
+                    youth.setBirthDate(birthDate);
                     members.add(youth);
+                    track(youth);
                     youthGuardian.put(id, guardianId);
                 }
             }
@@ -96,15 +146,17 @@ public class MemberManager {
             bw.write(members.size() + "\n");
             for (Member member : members) {
                 bw.write(member.id + "\n");
-                bw.write(member.age + "\n");
+                bw.write(member.birthDate.getMonth() + "\n");
+                bw.write(member.birthDate.getDay() + "\n");
+                bw.write(member.birthDate.getYear() + "\n");
                 bw.write(member.name + "\n");
                 bw.write(member.planType + "\n");
                 bw.write(member.billingCycles + "\n");
                 if (member instanceof AdultMember adult) {
                     bw.write(adult.getContactPhone() + "\n");
                     bw.write(adult.getAddress() + "\n");
-                    bw.write(adult.getTotalBillAmount() + "\n");
-                    bw.write(adult.getPaidBillAmount() + "\n");
+                    bw.write(Money.toPlainString(adult.getTotalBillAmount()) + "\n");
+                    bw.write(Money.toPlainString(adult.getPaidBillAmount()) + "\n");
                     bw.write(adult.getChildren().size() + "\n");
                     for (YouthMember child : adult.getChildren()) {
                         bw.write(child.id + "\n");
@@ -127,6 +179,9 @@ public class MemberManager {
     public void addMember(Member member) {
         member.setId(generateId());
         members.add(member);
+        track(member);
+        // opening plan fee
+        ledger.record(member.getId(), BillingLedger.Kind.PLAN_FEE, member.planCharges());
     }
 
     /**
@@ -139,21 +194,179 @@ public class MemberManager {
         Member target = searchById(id);
         if (target == null)
             return false;
+        Set<Member> removed = new HashSet<>();
+        detach(target, removed);
+        untrack(removed);
+        return members.removeIf(removed::contains);
+    }
+
+    /**
+     * remove many members at once (e.g. purging lapsed members); each member
+     * only touches its own events, and the member list is compacted once
+     * 
+     * @param ids member ids
+     * @return number of members removed, including children of removed adults
+     */
+    public int removeMembers(Collection<Integer> ids) {
+        Set<Member> removed = new HashSet<>();
+        for (int id : ids) {
+            Member target = searchById(id);
+            if (target != null && !removed.contains(target))
+                detach(target, removed);
+        }
+        untrack(removed);
+        members.removeIf(removed::contains);
+        return removed.size();
+    }
+
+    /**
+     * start indexing a member by name, and ranking adults by bill
+     * 
+     * @param member member
+     */
+    private void track(Member member) {
+        member.manager = this;
+        names.add(member, member.getName());
+        if (columns != null)
+            columns.update(member);
+        if (member instanceof AdultMember adult) {
+            ranking.update(adult);
+            households.addHead(adult.getId());
+        } else if (member instanceof YouthMember youth) {
+            comingOfAge.add(new ComingOfAge(youth));
+            if (youth.getGuardian() != null && youth.getGuardian().manager == this)
+                households.link(youth.getGuardian().getId(), youth.getId());
+        }
+    }
+
+    /**
+     * stop indexing removed members
+     * 
+     * @param removed removed members
+     */
+    private void untrack(Set<Member> removed) {
+        for (Member m : removed) {
+            m.manager = null;
+            names.remove(m);
+            households.remove(m.getId());
+            if (columns != null)
+                columns.remove(m.getId());
+            if (m instanceof AdultMember adult)
+                ranking.remove(adult);
+        }
+    }
+
+    /**
+     * re-index a member whose name changed
+     * 
+     * @param member member
+     */
+    void renamed(Member member) {
+        names.rename(member, member.getName());
+    }
+
+    /** record a child joining a guardian's household */
+    void childLinked(AdultMember guardian, YouthMember child) {
+        households.link(guardian.getId(), child.getId());
+    }
+
+    /** record a child leaving a guardian's household */
+    void childUnlinked(AdultMember guardian, YouthMember child) {
+        households.unlink(guardian.getId(), child.getId());
+    }
+
+    /**
+     * re-queue a youth whose birth date changed, promoting them at once if
+     * they are already of age
+     * 
+     * @param member member
+     */
+    void birthDateChanged(Member member) {
+        if (columns != null)
+            columns.update(member);
+        if (member instanceof YouthMember youth) {
+            comingOfAge.add(new ComingOfAge(youth));
+            promoteYouths();
+        }
+    }
+
+    /**
+     * refresh a member whose bill, plan or billing cycles may have changed,
+     * re-ranking adults
+     * 
+     * @param member member
+     */
+    void balanceChanged(Member member) {
+        if (columns != null)
+            columns.update(member);
+        if (member instanceof AdultMember adult)
+            ranking.update(adult);
+    }
+
+    /**
+     * columnar copy of the members for dashboards; built on first use and kept
+     * in sync from then on
+     * 
+     * @return the columns
+     */
+    public MemberColumns columns() {
+        if (columns == null) {
+            columns = new MemberColumns();
+            for (Member m : members)
+                columns.update(m);
+        }
+        return columns;
+    }
+
+    /**
+     * print member statistics: age distribution, plan mix, youths and adults,
+     * and outstanding bills
+     * 
+     * @return whether printed
+     */
+    public boolean printDashboard() {
+        if (members.isEmpty())
+            return false;
+        MemberColumns c = columns();
+        TimeBlock today = CommunityCentreRunner.getTimeManager().getCurrentTime();
+        int[] counts = c.youthAdultCounts();
+        System.out.println("Members: " + c.size() + " | Youths: " + counts[0] + " | Adults: " + counts[1]
+                + (counts[1] == 0 ? "" : String.format(" | Youths per Adult: %.2f", (double) counts[0] / counts[1])));
+        System.out.printf("Average Age: %.1f%n", c.averageAge(today));
+        System.out.println("Ages:");
+        int[] ages = c.ageHistogram(today, 10);
+        for (int i = 0; i < ages.length; i++) {
+            if (ages[i] > 0)
+                System.out.printf("  %d-%d: %d%n", i * 10, i * 10 + 9, ages[i]);
+        }
+        System.out.println("Plans:");
+        int[] plans = c.planMix();
+        for (Member.PlanType p : Member.PlanType.values())
+            System.out.printf("  %s: %d (%.1f%%)%n", p, plans[p.ordinal()], 100.0 * plans[p.ordinal()] / c.size());
+        System.out.printf("Average Billing Cycles: %.1f%n", c.averageBillingCycles());
+        System.out.println("Total Outstanding: " + Money.format(c.totalOutstanding()));
+        System.out.println("Average Outstanding per Adult: " + Money.format(c.averageOutstanding()));
+        return true;
+    }
+
+    /**
+     * unlink a member (and an adult's children) from guardians and events
+     * 
+     * @param target  member to unlink
+     * @param removed collects every member unlinked
+     */
+    private void detach(Member target, Set<Member> removed) {
+        removed.add(target);
         if (target instanceof AdultMember adult) {
-            for (YouthMember child : adult.getChildren()) {
+            for (YouthMember child : new ArrayList<>(adult.getChildren())) {
                 child.setGuardian(null);
-                removeMember(child.getId());
+                detach(child, removed);
             }
         } else if (target instanceof YouthMember youth) {
-            AdultMember guardian = youth.getGuardian();
-            if (guardian != null)
-                guardian.getChildren().remove(youth);
-        }
-        List<Event> allEvents = CommunityCentreRunner.getEventManager().getEvents();
-        for (Event e : allEvents) {
-            e.getParticipants().removeIf(m -> m.getId() == target.getId());
+            // unlinked so later charge changes no longer reach the guardian
+            youth.setGuardian(null);
         }
-        return members.remove(target);
+        CommunityCentreRunner.getEventManager().detachMember(target);
     }
 
     /**
@@ -176,51 +389,134 @@ public class MemberManager {
      * @return member or null
      */
     public Member searchById(int id) {
-        return searchByIdRecursive(id, 0, members.size() - 1);
+        int index = indexById(id);
+        return index < 0 ? null : members.get(index);
     }
 
-    /** recursive helper for searchById */
-    private Member searchByIdRecursive(int id, int low, int high) {
+    /**
+     * position of a member in the list, by binary search on id
+     * 
+     * @param id member id
+     * @return index, or -1 if not found
+     */
+    private int indexById(int id) {
+        return indexByIdRecursive(id, 0, members.size() - 1);
+    }
+
+    /** recursive helper for indexById */
+    private int indexByIdRecursive(int id, int low, int high) {
         if (low > high)
-            return null;
+            return -1;
         int mid = (low + high) / 2;
         int midId = members.get(mid).getId();
         if (midId == id)
-            return members.get(mid);
+            return mid;
         else if (midId > id)
-            return searchByIdRecursive(id, low, mid - 1);
+            return indexByIdRecursive(id, low, mid - 1);
         else
-            return searchByIdRecursive(id, mid + 1, high);
+            return indexByIdRecursive(id, mid + 1, high);
     }
 
     /**
-     * search by id or name
+     * search by id or name; a name may also be the start of exactly one
+     * member's name (first or any later word)
      * 
-     * @param idOrName id string or full name
+     * @param idOrName id string, full name or unique name prefix
      * @return member or null
      */
     public Member searchByIdOrName(String idOrName) {
         try {
             return searchById(Integer.parseInt(idOrName));
         } catch (NumberFormatException ignored) {
-            return searchByName(idOrName);
+            Member member = searchByName(idOrName);
+            if (member != null)
+                return member;
+            List<Member> found = names.prefix(idOrName, 2);
+            return found.size() == 1 ? found.get(0) : null;
         }
     }
 
     /**
-     * print bills for adult members
+     * ranked name search: exact matches, then name prefixes, then close
+     * spellings
+     * 
+     * @param query name or part of a name
+     * @param limit maximum number of results
+     * @return matching members, best first
+     */
+    public List<Member> searchNames(String query, int limit) {
+        return names.search(query, limit);
+    }
+
+    /**
+     * print bills for adult members, highest outstanding bill first
      * 
      * @return whether any printed
      */
     public boolean printAllBills() {
-        if (members.isEmpty())
+        return printBills(ranking.page(0, ranking.size()));
+    }
+
+    /**
+     * print the members owing the most
+     * 
+     * @param count number of members
+     * @return whether any printed
+     */
+    public boolean printTopDebtors(int count) {
+        return printBills(topDebtors(count));
+    }
+
+    /**
+     * print members owing more than an amount, highest first
+     * 
+     * @param amount amount in cents
+     * @return whether any printed
+     */
+    public boolean printOwingMoreThan(long amount) {
+        return printBills(ranking.owingMoreThan(amount));
+    }
+
+    /** print each adult's bill */
+    private boolean printBills(List<AdultMember> adults) {
+        if (adults.isEmpty())
             return false;
-        for (Member m : members)
-            if (m instanceof AdultMember adult)
-                adult.printBill();
+        for (AdultMember adult : adults)
+            adult.printBill();
         return true;
     }
 
+    /**
+     * adult members owing the most
+     * 
+     * @param count number of members
+     * @return the members, highest outstanding bill first
+     */
+    public List<AdultMember> topDebtors(int count) {
+        return ranking.page(0, count);
+    }
+
+    /**
+     * one page of adult members by outstanding bill
+     * 
+     * @param page     page number, starting at 0
+     * @param pageSize members per page
+     * @return the members, highest outstanding bill first
+     */
+    public List<AdultMember> billPage(int page, int pageSize) {
+        return ranking.page(page * pageSize, pageSize);
+    }
+
+    /**
+     * adult members owing more than an amount
+     * 
+     * @param amount amount in cents
+     * @return the members, highest outstanding bill first
+     */
+    public List<AdultMember> owingMoreThan(long amount) {
+        return ranking.owingMoreThan(amount);
+    }
+
     /**
      * print member names alphabetically
      * 
@@ -258,64 +554,181 @@ public class MemberManager {
      * @return member or null
      */
     public Member searchByName(String name) {
-        for (Member m : members)
-            if (m.name.equalsIgnoreCase(name))
-                return m;
-        return null;
+        List<Member> found = names.exact(name);
+        return found.isEmpty() ? null : found.get(0);
     }
 
     /** bill all monthly adult members */
     public void billMonthlyMembers() {
-        for (Member m : members) {
-            if (m.getPlanType() == Member.PlanType.MONTHLY && m instanceof AdultMember am) {
-                System.out.printf("Member #%d %s was billed %.2f\n", am.getId(), am.getName(), am.calculateBill());
-                am.incrementBillingCycles();
-                if (am.getPaidBillAmount() < am.getTotalBillAmount()) {
-                    am.payBill(am.calculateBill());
-                }
-            }
-        }
+        bill(Member.PlanType.MONTHLY);
     }
 
     /** bill all annual adult members */
     public void billAnnualMembers() {
-        for (Member m : members) {
-            if (m.getPlanType() == Member.PlanType.ANNUAL && m instanceof AdultMember am) {
-                System.out.printf("Member #%d %s was billed %.2f\n", am.getId(), am.getName(), am.calculateBill());
-                am.incrementBillingCycles();
-                if (am.getPaidBillAmount() < am.getTotalBillAmount()) {
-                    am.payBill(am.calculateBill());
-                }
-            }
+        bill(Member.PlanType.ANNUAL);
+    }
+
+    /**
+     * run billing for one plan and write its statement file
+     *
+     * @param planType plan being billed
+     */
+    private void bill(Member.PlanType planType) {
+        TimeBlock now = CommunityCentreRunner.getTimeManager().getCurrentTime();
+        String path = CommunityCentreRunner.STATEMENTS_DIRECTORY + "billing-" + planType.toString().toLowerCase()
+                + "-" + now.getYear() + "-" + now.getMonth() + ".txt";
+        BillingRun run = new BillingRun(members, planType);
+        run.run(path);
+        System.out.printf("Billed %d %s members %s (paid %s), statement: %s\n", run.size(),
+                planType.toString().toLowerCase(), Money.format(run.getTotalBilled()),
+                Money.format(run.getTotalPaid()), path);
+    }
+
+    /**
+     * promote every youth whose 18th birthday has arrived; only the youths
+     * at the front of the birthday queue are looked at
+     */
+    public void promoteYouths() {
+        double now = CommunityCentreRunner.getTimeManager().getCurrentTime().hoursSinceEpoch();
+        while (!comingOfAge.isEmpty() && comingOfAge.peek().adultAt <= now) {
+            ComingOfAge next = comingOfAge.poll();
+            YouthMember youth = next.youth;
+            // skip removed youths and entries from an old birth date
+            if (youth.manager != this || next.adultAt != new ComingOfAge(youth).adultAt)
+                continue;
+            promote(youth);
         }
     }
 
-    /** increase age by one year, promote youths to adults */
-    public void ageMembers() {
-        List<Member> snapshot = new ArrayList<>(members);
-        for (Member m : snapshot) {
-            if (m instanceof AdultMember adult) {
-                adult.setAge(adult.getAge() + 1);
-            } else if (m instanceof YouthMember youth) {
-                youth.setAge(youth.getAge() + 1);
-                if (youth.getAge() >= Member.ADULT_AGE) {
-                    System.out.println(youth.getName() + " is now an adult member.");
-                    AdultMember grown = new AdultMember(
-                            youth.getAge(), youth.getName(), youth.getPlanType(),
-                            youth.getGuardian().getContactPhone(), youth.getGuardian().getAddress());
-                    grown.setBillingCycles(youth.getBillingCycles());
-                    for (Event e : youth.getRegistrations().getEventSchedule()) {
-                        e.registerParticipant(grown);
-                        if (e instanceof Competition c && c.isCompleted() && c.getWinner().equals(grown)) {
-                            c.setWinner(grown);
-                        }
-                    }
-                    removeMember(youth.getId());
-                    youth.getGuardian().getChildren().remove(youth);
-                    addMember(grown);
-                }
+    /**
+     * promote a youth to an adult in place: the adult takes the youth's id,
+     * position, registrations schedule and event links, so nothing is
+     * re-registered or re-checked; only the discounts end
+     * 
+     * @param youth youth who came of age
+     */
+    private void promote(YouthMember youth) {
+        System.out.println(youth.getName() + " is now an adult member.");
+        AdultMember guardian = youth.getGuardian();
+        AdultMember grown = new AdultMember(youth.getAge(), youth.getName(), youth.getPlanType(),
+                guardian == null ? "" : guardian.getContactPhone(), guardian == null ? "" : guardian.getAddress(),
+                0, youth.billingCycles);
+        grown.setId(youth.getId());
+        grown.birthDate = youth.birthDate;
+        grown.registrations = youth.registrations;
+
+        // the youth's bill leaves the guardian's total
+        untrack(Set.of(youth));
+        youth.setGuardian(null);
+        members.set(indexById(youth.getId()), grown);
+
+        // full price from now on; the ledger records only the difference
+        ledger.record(grown.getId(), BillingLedger.Kind.PLAN_FEE, grown.planCharges() - youth.planCharges());
+        for (Event e : grown.registrations.getEventSchedule()) {
+            e.replaceMember(youth, grown);
+            grown.eventCharges += grown.eventCost(e);
+            ledger.record(grown.getId(), BillingLedger.Kind.CHARGE,
+                    grown.participationCharge(e) - youth.participationCharge(e));
+        }
+        track(grown);
+    }
+
+    /**
+     * guardian heading a member's household
+     * 
+     * @param member member
+     * @return the guardian (the member itself for adults), or null
+     */
+    public AdultMember householdHead(Member member) {
+        int head = households.headOf(member.getId());
+        return head == HouseholdIndex.NONE ? null : (AdultMember) searchById(head);
+    }
+
+    /**
+     * every member of a member's household
+     * 
+     * @param member member
+     * @return the guardian followed by their children, empty if none
+     */
+    public List<Member> household(Member member) {
+        List<Member> found = new ArrayList<>();
+        for (int id : households.household(member.getId()))
+            found.add(searchById(id));
+        return found;
+    }
+
+    /**
+     * print every member of a household with the consolidated bill
+     * 
+     * @param member any member of the household
+     * @return whether a household was found
+     */
+    public boolean printHousehold(Member member) {
+        AdultMember head = householdHead(member);
+        if (head == null)
+            return false;
+        for (Member m : household(member))
+            System.out.println(m);
+        System.out.println("Household bill: " + Money.format(head.calculateTotalBill()) + " | Paid off: "
+                + Money.format(head.getPaidBillAmount()) + " | Outstanding: " + Money.format(head.calculateBill()));
+        return true;
+    }
+
+    /**
+     * change the plan of everyone in a household
+     * 
+     * @param member   any member of the household
+     * @param planType new plan
+     * @return number of members changed
+     */
+    public int setHouseholdPlan(Member member, Member.PlanType planType) {
+        int changed = 0;
+        for (Member m : household(member)) {
+            if (m.getPlanType() != planType) {
+                m.setPlanType(planType);
+                changed++;
             }
         }
+        return changed;
+    }
+
+    /**
+     * move a household to a new address; children use their guardian's
+     * address, so only the guardian is updated
+     * 
+     * @param member  any member of the household
+     * @param address new address
+     * @return false if the member has no household
+     */
+    public boolean moveHousehold(Member member, String address) {
+        AdultMember head = householdHead(member);
+        if (head == null)
+            return false;
+        head.setAddress(address);
+        return true;
+    }
+
+    /** get billing ledger */
+    public BillingLedger getLedger() {
+        return ledger;
+    }
+
+    /** set billing ledger */
+    public void setLedger(BillingLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    /**
+     * print a member's ledger entries between two dates
+     *
+     * @param member member
+     * @param from   first day, or null for all history
+     * @param to     last day, or null for all history
+     */
+    public void printStatement(Member member, TimeBlock from, TimeBlock to) {
+        double lo = from == null ? Double.NEGATIVE_INFINITY : from.hoursSinceEpoch();
+        double hi = to == null ? Double.POSITIVE_INFINITY : to.getEndBlock().hoursSinceEpoch();
+        System.out.println(ledger.statement(member.getId(), lo, hi));
     }
 
     /** get member list */
@@ -326,5 +739,11 @@ public class MemberManager {
     /** set member list */
     public void setMembers(ArrayList<Member> members) {
         this.members = members;
+        ranking.clear();
+        names.clear();
+        households.clear();
+        columns = null;
+        for (Member m : members)
+            track(m);
     }
 }
@@ -1,7 +1,7 @@
 package member;
 
-import event.Competition;
 import event.Event;
+import money.Money;
 
 /**
  * represents a youth member with a discount rate, linked to one adult guardian.
@@ -57,25 +57,29 @@ public class YouthMember extends Member {
      * @return discounted bill amount
      */
     @Override
-    public double calculateBill() {
-        double base = switch (planType) {
-            case MONTHLY -> MONTHLY_BASE;
-            case ANNUAL -> ANNUAL_BASE;
-        } * (1 - DISCOUNT_RATE);
+    public long calculateBill() {
+        return planCharges() + eventCharges;
+    }
 
-        base = base + billingCycles * base;
+    /** plan fee per billing cycle, discounted */
+    @Override
+    public long planBase() {
+        return Money.times(super.planBase(), 1 - DISCOUNT_RATE);
+    }
 
-        for (Event event : registrations.getEventSchedule()) {
-            if (event instanceof Competition c) {
-                base += c.getParticipationCost() * (1 - DISCOUNT_RATE);
-                if (this.equals(c.getWinner())) {
-                    // prize shouldn't be discounted
-                    base -= c.getPrize();
-                }
-            }
-        }
+    /** participation cost is discounted, prizes are not */
+    @Override
+    public long participationCharge(Event event) {
+        return Money.times(super.participationCharge(event), 1 - DISCOUNT_RATE);
+    }
 
-        return base;
+    /** pass bill changes up to the guardian's running total */
+    @Override
+    protected void billChanged(long delta) {
+        if (guardian != null)
+            guardian.childBillChanged(delta);
+        if (manager != null)
+            manager.balanceChanged(this);
     }
 
     /** returns guardian contact info and address */
@@ -98,7 +102,7 @@ public class YouthMember extends Member {
     /** sets a new guardian and updates child list */
     public void setGuardian(AdultMember guardian) {
         if (this.guardian != null) {
-            this.guardian.getChildren().remove(this);
+            this.guardian.unlinkChild(this);
         }
         this.guardian = guardian;
         if (guardian != null) {
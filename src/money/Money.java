@@ -0,0 +1,109 @@
+/**
+ * Money implements fixed-point amounts stored as a long number of cents, so
+ * bills, prizes, costs and wages add up exactly and totals are plain long sums
+ *
+ * @author Sean Yang
+ * @since June 14, 2025
+ */
+
+package money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public final class Money {
+    public static final long CENTS_PER_DOLLAR = 100;
+
+    // not instantiable, amounts are plain longs
+    private Money() {
+    }
+
+    /**
+     * converts a dollar amount to cents, rounding to the nearest cent
+     *
+     * @param dollars
+     * @return the amount in cents
+     */
+    public static long ofDollars(double dollars) {
+        return Math.round(dollars * CENTS_PER_DOLLAR);
+    }
+
+    /**
+     * converts cents to a dollar amount (for display or input only)
+     *
+     * @param cents
+     * @return the amount in dollars
+     */
+    public static double toDollars(long cents) {
+        return (double) cents / CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * multiplies an amount by a factor (hours, rates, discounts), rounding to the
+     * nearest cent
+     *
+     * @param cents
+     * @param factor
+     * @return the scaled amount in cents
+     */
+    public static long times(long cents, double factor) {
+        return Math.round(cents * factor);
+    }
+
+    /**
+     * parses a dollar amount such as "27138", "27138.0" or "12.50" exactly
+     *
+     * @param dollars the text
+     * @return the amount in cents
+     */
+    public static long parse(String dollars) {
+        return new BigDecimal(dollars.trim()).movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * formats an amount as plain dollars with two decimals, e.g. "-12.05", used
+     * in data files and statements
+     *
+     * @param cents
+     * @return the text
+     */
+    public static String toPlainString(long cents) {
+        StringBuilder sb = new StringBuilder();
+        if (cents < 0) {
+            sb.append('-');
+        }
+        long abs = Math.abs(cents);
+        long fraction = abs % CENTS_PER_DOLLAR;
+        sb.append(abs / CENTS_PER_DOLLAR).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction).toString();
+    }
+
+    /**
+     * formats an amount for display, e.g. "$12.05" or "-$3.00"
+     *
+     * @param cents
+     * @return the text
+     */
+    public static String format(long cents) {
+        return cents < 0 ? "-$" + toPlainString(-cents) : "$" + toPlainString(cents);
+    }
+
+    /**
+     * sums an array of amounts
+     *
+     * @param cents
+     * @param from  first index, inclusive
+     * @param to    last index, exclusive
+     * @return the total in cents
+     */
+    public static long sum(long[] cents, int from, int to) {
+        long total = 0;
+        for (int i = from; i < to; i++) {
+            total += cents[i];
+        }
+        return total;
+    }
+}
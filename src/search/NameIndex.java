@@ -0,0 +1,352 @@
+/**
+ * NameIndex implements a case-folded name index for prefix autocomplete and
+ * typo-tolerant search. Names (and each word within them) are kept in a trie
+ * for prefix lookups, and every word's trigrams are posted to the items that
+ * contain them so fuzzy matches only look at items sharing a trigram with the
+ * query
+ *
+ * @author Sean Yang
+ * @since June 14, 2025
+ */
+
+package search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeMap;
+
+public class NameIndex<T> {
+    // minimum share of the query's trigrams a fuzzy match must contain
+    public static final double MIN_SIMILARITY = 0.5;
+
+    // trie node, children in alphabetical order so prefix results are sorted
+    private static class Node<T> {
+        TreeMap<Character, Node<T>> children = new TreeMap<>();
+        // items whose full name ends here
+        ArrayList<T> names = new ArrayList<>();
+        // items with a later word (e.g. a last name) ending here
+        ArrayList<T> words = new ArrayList<>();
+    }
+
+    private final Node<T> root = new Node<>();
+    // folded name each item was indexed under
+    private final IdentityHashMap<T, String> indexed = new IdentityHashMap<>();
+    // number of distinct trigrams in each item's name
+    private final IdentityHashMap<T, Integer> gramCounts = new IdentityHashMap<>();
+    // items containing each trigram
+    private final HashMap<String, Set<T>> postings = new HashMap<>();
+
+    /**
+     * folds a name for comparison: trimmed, lower case, single spaces
+     *
+     * @param name
+     * @return the folded name
+     */
+    public static String fold(String name) {
+        return name.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    /**
+     * adds an item under a name
+     *
+     * @param item
+     * @param name
+     */
+    public void add(T item, String name) {
+        if (indexed.containsKey(item) || name == null) {
+            return;
+        }
+        String folded = fold(name);
+        indexed.put(item, folded);
+
+        nodeFor(folded, true).names.add(item);
+        for (String rest : laterWords(folded)) {
+            nodeFor(rest, true).words.add(item);
+        }
+        Set<String> grams = trigrams(folded);
+        gramCounts.put(item, grams.size());
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, k -> Collections.newSetFromMap(new IdentityHashMap<>())).add(item);
+        }
+    }
+
+    /**
+     * removes an item
+     *
+     * @param item
+     */
+    public void remove(T item) {
+        String folded = indexed.remove(item);
+        if (folded == null) {
+            return;
+        }
+
+        gramCounts.remove(item);
+        removeFrom(folded, item, true);
+        for (String rest : laterWords(folded)) {
+            removeFrom(rest, item, false);
+        }
+        for (String gram : trigrams(folded)) {
+            Set<T> posting = postings.get(gram);
+            posting.remove(item);
+            if (posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * re-indexes an item under a new name
+     *
+     * @param item
+     * @param name
+     */
+    public void rename(T item, String name) {
+        if (indexed.containsKey(item)) {
+            remove(item);
+            add(item, name);
+        }
+    }
+
+    // removes all items
+    public void clear() {
+        root.children.clear();
+        root.names.clear();
+        root.words.clear();
+        indexed.clear();
+        gramCounts.clear();
+        postings.clear();
+    }
+
+    // number of indexed items
+    public int size() {
+        return indexed.size();
+    }
+
+    /**
+     * finds the items whose full name matches exactly, ignoring case
+     *
+     * @param name
+     * @return the items, in the order they were added
+     */
+    public List<T> exact(String name) {
+        Node<T> node = nodeFor(fold(name), false);
+        return node == null ? new ArrayList<>() : new ArrayList<>(node.names);
+    }
+
+    /**
+     * finds items whose full name or any later word starts with a prefix, in
+     * alphabetical order
+     *
+     * @param prefix
+     * @param limit  maximum number of results
+     * @return the items
+     */
+    public List<T> prefix(String prefix, int limit) {
+        LinkedHashSet<T> found = new LinkedHashSet<>();
+        Node<T> node = nodeFor(fold(prefix), false);
+        if (node != null) {
+            collect(node, found, limit);
+        }
+        return new ArrayList<>(found);
+    }
+
+    /**
+     * searches for a name: exact matches first, then prefix matches, then
+     * names sharing most of the query's trigrams, best first
+     *
+     * @param query
+     * @param limit maximum number of results
+     * @return the ranked items
+     */
+    public List<T> search(String query, int limit) {
+        String folded = fold(query);
+        LinkedHashSet<T> found = new LinkedHashSet<>();
+        if (folded.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        Node<T> node = nodeFor(folded, false);
+        if (node != null) {
+            for (T item : node.names) {
+                if (found.size() < limit) {
+                    found.add(item);
+                }
+            }
+            collect(node, found, limit);
+        }
+
+        if (found.size() < limit) {
+            for (T item : fuzzy(folded)) {
+                if (found.size() >= limit) {
+                    break;
+                }
+                found.add(item);
+            }
+        }
+        return new ArrayList<>(found);
+    }
+
+    /**
+     * finds items sharing at least MIN_SIMILARITY of the query's trigrams,
+     * ranked by that share, then by how much of their own name matched.
+     * a match must share at least one of the query's rarest trigrams, so only
+     * those postings are scanned; the others are checked per candidate
+     *
+     * @param folded folded query
+     * @return the ranked items
+     */
+    private List<T> fuzzy(String folded) {
+        Set<String> grams = trigrams(folded);
+        int needed = (int) Math.ceil(MIN_SIMILARITY * grams.size());
+        ArrayList<Set<T>> lists = new ArrayList<>();
+        for (String gram : grams) {
+            lists.add(postings.getOrDefault(gram, Collections.emptySet()));
+        }
+        lists.sort((x, y) -> Integer.compare(x.size(), y.size()));
+
+        // any item missing all of the rarest (grams - needed + 1) trigrams
+        // shares fewer than needed
+        int scanned = grams.size() - needed + 1;
+        IdentityHashMap<T, Double> scores = new IdentityHashMap<>();
+        ArrayList<T> matches = new ArrayList<>();
+        for (int i = 0; i < scanned; i++) {
+            for (T item : lists.get(i)) {
+                if (scores.containsKey(item)) {
+                    continue;
+                }
+                int shared = 0;
+                for (Set<T> list : lists) {
+                    if (list.contains(item)) {
+                        shared++;
+                    }
+                }
+                double contained = (double) shared / grams.size();
+                if (contained >= MIN_SIMILARITY) {
+                    double dice = 2.0 * shared / (grams.size() + gramCounts.get(item));
+                    scores.put(item, contained + dice);
+                    matches.add(item);
+                } else {
+                    scores.put(item, -1.0);
+                }
+            }
+        }
+        matches.sort((x, y) -> {
+            int c = Double.compare(scores.get(y), scores.get(x));
+            return c != 0 ? c : indexed.get(x).compareTo(indexed.get(y));
+        });
+        return matches;
+    }
+
+    /**
+     * the rest of a name from each word after the first, e.g. "ann lee" and
+     * "lee" for "mary ann lee"
+     *
+     * @param folded folded name
+     * @return the keys
+     */
+    private static List<String> laterWords(String folded) {
+        List<String> keys = new ArrayList<>();
+        for (int i = folded.indexOf(' '); i >= 0; i = folded.indexOf(' ', i + 1)) {
+            keys.add(folded.substring(i + 1));
+        }
+        return keys;
+    }
+
+    /**
+     * trigrams of each word, padded with two spaces in front and one behind
+     * so short words and word starts still match
+     *
+     * @param folded folded name
+     * @return the distinct trigrams
+     */
+    private static Set<String> trigrams(String folded) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : folded.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    // walks (or builds) the trie path for a key
+    private Node<T> nodeFor(String key, boolean create) {
+        Node<T> node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            char c = key.charAt(i);
+            Node<T> next = node.children.get(c);
+            if (next == null && create) {
+                next = new Node<>();
+                node.children.put(c, next);
+            }
+            node = next;
+        }
+        return node;
+    }
+
+    // removes an item from the node for a key, pruning empty branches
+    private void removeFrom(String key, T item, boolean fullName) {
+        ArrayList<Node<T>> path = new ArrayList<>();
+        Node<T> node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.get(key.charAt(i));
+            path.add(node);
+        }
+        removeIdentity(fullName ? node.names : node.words, item);
+
+        for (int i = key.length(); i > 0; i--) {
+            Node<T> n = path.get(i);
+            if (!n.children.isEmpty() || !n.names.isEmpty() || !n.words.isEmpty()) {
+                break;
+            }
+            path.get(i - 1).children.remove(key.charAt(i - 1));
+        }
+    }
+
+    // removes an item by identity
+    private static <T> void removeIdentity(List<T> list, T item) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == item) {
+                list.remove(i);
+                return;
+            }
+        }
+    }
+
+    // depth-first collection of a subtree's items until the limit is reached
+    private void collect(Node<T> node, LinkedHashSet<T> found, int limit) {
+        if (found.size() >= limit) {
+            return;
+        }
+        for (T item : node.names) {
+            if (found.size() >= limit) {
+                return;
+            }
+            found.add(item);
+        }
+        for (T item : node.words) {
+            if (found.size() >= limit) {
+                return;
+            }
+            found.add(item);
+        }
+        for (Node<T> child : node.children.values()) {
+            collect(child, found, limit);
+            if (found.size() >= limit) {
+                return;
+            }
+        }
+    }
+}
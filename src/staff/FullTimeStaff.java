@@ -1,5 +1,7 @@
 package staff;
 
+import money.Money;
+
 /**
  * represents full-time staff with base salary and yearly raises.
  * calculates monthly pay based on years worked.
@@ -9,8 +11,8 @@ package staff;
  * @since 2025-06-04
  */
 public class FullTimeStaff extends Staff {
-    /** base annual salary */
-    public static final double BASE_SALARY = 60000;
+    /** base annual salary, in cents */
+    public static final long BASE_SALARY = 6_000_000;
     /** annual raise rate per year worked */
     public static final double YEARLY_RAISE = 0.05;
     /** years worked */
@@ -24,15 +26,15 @@ public class FullTimeStaff extends Staff {
 
     /** calculate monthly salary */
     @Override
-    public double calculatePay() {
-        double adjustedSalary = BASE_SALARY + (YEARLY_RAISE * yearsWorked * BASE_SALARY);
-        return adjustedSalary / 12;
+    public long calculatePay() {
+        long adjustedSalary = BASE_SALARY + Money.times(BASE_SALARY, YEARLY_RAISE * yearsWorked);
+        return Math.round(adjustedSalary / 12.0);
     }
 
     /** return payroll string */
     @Override
     public String toPayrollString() {
-        return name + "'s monthly pay is: " + calculatePay() + " | Years worked: " + yearsWorked;
+        return name + "'s monthly pay is: " + Money.format(calculatePay()) + " | Years worked: " + yearsWorked;
     }
 
     /** return staff details */
@@ -49,5 +51,6 @@ public class FullTimeStaff extends Staff {
     /** set years worked */
     public void setYearsWorked(int yearsWorked) {
         this.yearsWorked = yearsWorked;
+        payChanged();
     }
 }
@@ -1,18 +1,21 @@
 package staff;
 
+import event.Event;
+import money.Money;
+import time.TimeBlock;
+
 /**
  * represents a part-time staff member paid by the hour.
- * calculates monthly pay up to a maximum number of hours.
+ * calculates monthly pay up to a maximum number of hours, and turns down
+ * shifts that would take the month over that maximum.
  *
  * @author Yubo-Zhao
  * @version 1.0
  * @since 2025-06-03
  */
 public class PartTimeStaff extends Staff {
-    /** hours worked this month */
-    private double hoursWorked;
-    /** hourly wage */
-    private double hourlySalary;
+    /** hourly wage, in cents */
+    private long hourlySalary;
     /** max allowed hours per month */
     private int maxMonthlyHours;
 
@@ -20,15 +23,16 @@ public class PartTimeStaff extends Staff {
      * create part-time staff with initial hours, wage, and max hours
      *
      * @param name            staff member's name
-     * @param hoursWorked     initial hours worked
-     * @param hourlySalary    wage per hour
+     * @param hoursWorked     hours already worked this month
+     * @param hourlySalary    wage per hour, in cents
      * @param maxMonthlyHours cap on hours per month
      */
-    public PartTimeStaff(String name, double hoursWorked, double hourlySalary, int maxMonthlyHours) {
+    public PartTimeStaff(String name, double hoursWorked, long hourlySalary, int maxMonthlyHours) {
         super(name);
-        this.hoursWorked = hoursWorked;
+        setHoursWorked(hoursWorked);
         this.hourlySalary = hourlySalary;
         this.maxMonthlyHours = maxMonthlyHours;
+        payChanged();
     }
 
     /**
@@ -37,16 +41,51 @@ public class PartTimeStaff extends Staff {
      * @return total pay for this month
      */
     @Override
-    public double calculatePay() {
-        if (hoursWorked > maxMonthlyHours) {
-            hoursWorked = maxMonthlyHours;
-        }
-        return hoursWorked * hourlySalary;
+    public long calculatePay() {
+        return calculatePay(now());
+    }
+
+    /**
+     * calculate pay for a month (capped at maxMonthlyHours)
+     *
+     * @param month any date in the month
+     * @return total pay for that month
+     */
+    public long calculatePay(TimeBlock month) {
+        return payForHours(getWorkedHours(month));
+    }
+
+    /**
+     * pay for a number of hours worked in a month (capped at maxMonthlyHours)
+     *
+     * @param hours hours worked
+     * @return the pay in cents
+     */
+    public long payForHours(double hours) {
+        return payForHours(hourlySalary, maxMonthlyHours, hours);
+    }
+
+    /**
+     * pay for a number of hours at a wage and cap
+     *
+     * @param hourlySalary    wage per hour, in cents
+     * @param maxMonthlyHours cap on hours per month
+     * @param hours           hours worked
+     * @return the pay in cents
+     */
+    static long payForHours(long hourlySalary, int maxMonthlyHours, double hours) {
+        return Money.times(hourlySalary, Math.min(hours, maxMonthlyHours));
+    }
+
+    /** whether a new or moved shift keeps the month within maxMonthlyHours */
+    @Override
+    public boolean hasHoursFor(TimeBlock block, Event moving) {
+        return getBookedHours(block, moving) + block.duration() <= maxMonthlyHours;
     }
 
     /** return payroll details */
     public String toPayrollString() {
-        return name + "'s pay is: " + calculatePay() + " | Hours worked: " + hoursWorked;
+        return name + "'s pay is: " + Money.format(calculatePay()) + " | Hours worked: " + getHoursWorked();
     }
 
     /** return staff details */
@@ -54,28 +93,34 @@ public class PartTimeStaff extends Staff {
     public String toString() {
         return "Staff #" + id
                 + " | Name: " + name
-                + " | Hourly salary: " + hourlySalary
+                + " | Hourly salary: " + Money.format(hourlySalary)
                 + " | Max monthly hours: " + maxMonthlyHours;
     }
 
-    /** get hours worked */
+    /** get hours worked this month */
     public double getHoursWorked() {
-        return hoursWorked;
+        return getWorkedHours(now());
     }
 
-    /** set hours worked */
+    /** set hours worked this month */
     public void setHoursWorked(double hoursWorked) {
-        this.hoursWorked = hoursWorked;
+        setWorkedHours(now(), hoursWorked);
+    }
+
+    /** current date */
+    private static TimeBlock now() {
+        return main.CommunityCentreRunner.getTimeManager().getCurrentTime();
     }
 
-    /** get hourly wage */
-    public double getHourlySalary() {
+    /** get hourly wage, in cents */
+    public long getHourlySalary() {
         return hourlySalary;
     }
 
-    /** set hourly wage */
-    public void setHourlySalary(double hourlySalary) {
+    /** set hourly wage, in cents */
+    public void setHourlySalary(long hourlySalary) {
         this.hourlySalary = hourlySalary;
+        payChanged();
     }
 
     /** get max monthly hours */
@@ -86,5 +131,6 @@ public class PartTimeStaff extends Staff {
     /** set max monthly hours */
     public void setMaxMonthlyHours(int maxMonthlyHours) {
         this.maxMonthlyHours = maxMonthlyHours;
+        payChanged();
     }
 }
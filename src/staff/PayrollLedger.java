@@ -0,0 +1,296 @@
+package staff;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.TreeMap;
+
+import money.Money;
+import time.TimeBlock;
+
+/**
+ * record of what each staff member was paid for each pay period: a month
+ * for part-time staff, a year for full-time staff (filed under its JAN).
+ * one record per staff member, kind and period, stored as parallel primitive
+ * arrays; paying a period again replaces its records, so any period can be
+ * re-run and compared with what was paid, and year-end totals are a scan
+ * over the arrays.
+ * each record keeps the pay basis it was computed from (annual salary, or
+ * hourly wage and monthly hours cap), so a period is re-run as it was paid
+ * even after raises or wage changes.
+ * file format: numRecords, then one record per line as
+ * "staffId kind year month hours amount rate cap"; records without a basis
+ * (older files) have rate -1.
+ *
+ * @author Yubo-Zhao
+ * @version 1.0
+ * @since 2025-06-14
+ */
+public class PayrollLedger {
+    /** kinds of pay records */
+    public enum Kind {
+        FULL_TIME, PART_TIME
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+    private static final TimeBlock.Month[] MONTHS = TimeBlock.Month.values();
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** number of records */
+    private int size;
+    /** staff member each record belongs to */
+    private int[] staffIds = new int[INITIAL_CAPACITY];
+    /** record kind (Kind ordinal) */
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+    /** pay period as year * 12 + month */
+    private int[] periods = new int[INITIAL_CAPACITY];
+    /** hours worked in the period (0 for full-time) */
+    private double[] hours = new double[INITIAL_CAPACITY];
+    /** amount paid in cents */
+    private long[] amounts = new long[INITIAL_CAPACITY];
+    /** annual salary (full-time) or hourly wage (part-time) in cents, -1 if unknown */
+    private long[] rates = new long[INITIAL_CAPACITY];
+    /** max monthly hours (part-time, 0 for full-time) */
+    private int[] caps = new int[INITIAL_CAPACITY];
+    /** record position by staff id, kind and period */
+    private HashMap<Long, Integer> positions = new HashMap<>();
+
+    /** totals over a year for one staff member */
+    public static class Totals {
+        /** hours worked */
+        public double hours;
+        /** amount paid in cents */
+        public long paid;
+    }
+
+    /** create empty ledger */
+    public PayrollLedger() {
+    }
+
+    /**
+     * create ledger from file
+     *
+     * @param filename payroll data file path
+     */
+    public PayrollLedger(String filename) {
+        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
+            int numRecords = Integer.parseInt(br.readLine().trim());
+            for (int i = 0; i < numRecords; i++) {
+                String[] parts = br.readLine().trim().split(" ");
+                int period = Integer.parseInt(parts[2]) * 12 + TimeBlock.Month.valueOf(parts[3]).ordinal();
+                long rate = parts.length > 6 ? Money.parse(parts[6]) : -1;
+                int cap = parts.length > 7 ? Integer.parseInt(parts[7]) : 0;
+                put(Integer.parseInt(parts[0]), Kind.valueOf(parts[1]), period, Double.parseDouble(parts[4]),
+                        Money.parse(parts[5]), rate, cap);
+            }
+        } catch (IOException iox) {
+            System.out.println("Error reading payroll file: " + iox.getMessage());
+        }
+    }
+
+    /**
+     * save ledger to file
+     *
+     * @param filepath output file path
+     */
+    public void save(String filepath) {
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(filepath))) {
+            bw.write(size + "\n");
+            for (int i = 0; i < size; i++) {
+                bw.write(staffIds[i] + " " + KINDS[kinds[i]] + " " + periods[i] / 12 + " " + MONTHS[periods[i] % 12]
+                        + " " + hours[i] + " " + Money.toPlainString(amounts[i])
+                        + " " + (rates[i] < 0 ? "-1" : Money.toPlainString(rates[i])) + " " + caps[i] + "\n");
+            }
+        } catch (IOException iox) {
+            System.out.println("Error writing to payroll file: " + iox.getMessage());
+        }
+    }
+
+    /** key of a record's position */
+    private static long key(int staffId, Kind kind, int period) {
+        return ((long) staffId << 32) | ((long) period << 1) | kind.ordinal();
+    }
+
+    /**
+     * record a payment, replacing any earlier one for the same staff member,
+     * kind and period
+     *
+     * @param staffId staff id
+     * @param kind    record kind
+     * @param period  pay period as year * 12 + month
+     * @param worked  hours worked
+     * @param amount  amount in cents
+     * @param rate    annual salary or hourly wage in cents, -1 if unknown
+     * @param cap     max monthly hours (part-time)
+     */
+    void put(int staffId, Kind kind, int period, double worked, long amount, long rate, int cap) {
+        Integer at = positions.get(key(staffId, kind, period));
+        if (at != null) {
+            hours[at] = worked;
+            amounts[at] = amount;
+            rates[at] = rate;
+            caps[at] = cap;
+            return;
+        }
+        if (size == staffIds.length) {
+            int capacity = size * 2;
+            staffIds = Arrays.copyOf(staffIds, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+            periods = Arrays.copyOf(periods, capacity);
+            hours = Arrays.copyOf(hours, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            rates = Arrays.copyOf(rates, capacity);
+            caps = Arrays.copyOf(caps, capacity);
+        }
+        staffIds[size] = staffId;
+        kinds[size] = (byte) kind.ordinal();
+        periods[size] = period;
+        hours[size] = worked;
+        amounts[size] = amount;
+        rates[size] = rate;
+        caps[size] = cap;
+        positions.put(key(staffId, kind, period), size);
+        size++;
+    }
+
+    /**
+     * record every payment of a run
+     *
+     * @param run a computed run
+     */
+    public void record(PayrollRun run) {
+        for (int i = 0; i < run.size(); i++) {
+            put(run.staffIdAt(i), run.getKind(), run.getPeriod(), run.hoursAt(i), run.payAt(i), run.rateAt(i),
+                    run.capAt(i));
+        }
+    }
+
+    /** get number of records */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * whether a payment was recorded
+     *
+     * @param staffId staff id
+     * @param kind    record kind
+     * @param period  pay period as year * 12 + month
+     * @return whether there is a record
+     */
+    public boolean contains(int staffId, Kind kind, int period) {
+        return positions.containsKey(key(staffId, kind, period));
+    }
+
+    /**
+     * hours worked recorded for a payment
+     *
+     * @param staffId staff id
+     * @param kind    record kind
+     * @param period  pay period as year * 12 + month
+     * @return the hours, 0 if not recorded
+     */
+    public double hoursWorked(int staffId, Kind kind, int period) {
+        Integer at = positions.get(key(staffId, kind, period));
+        return at == null ? 0 : hours[at];
+    }
+
+    /**
+     * amount recorded for a payment
+     *
+     * @param staffId staff id
+     * @param kind    record kind
+     * @param period  pay period as year * 12 + month
+     * @return the amount in cents, 0 if not recorded
+     */
+    public long amountPaid(int staffId, Kind kind, int period) {
+        Integer at = positions.get(key(staffId, kind, period));
+        return at == null ? 0 : amounts[at];
+    }
+
+    /**
+     * whether a payment was recorded with the pay basis it was computed from
+     *
+     * @param staffId staff id
+     * @param kind    record kind
+     * @param period  pay period as year * 12 + month
+     * @return whether the rate and cap are known
+     */
+    public boolean hasBasis(int staffId, Kind kind, int period) {
+        Integer at = positions.get(key(staffId, kind, period));
+        return at != null && rates[at] >= 0;
+    }
+
+    /**
+     * rate recorded for a payment
+     *
+     * @param staffId staff id
+     * @param kind    record kind
+     * @param period  pay period as year * 12 + month
+     * @return annual salary (full-time) or hourly wage (part-time) in cents,
+     *         -1 if not recorded
+     */
+    public long rate(int staffId, Kind kind, int period) {
+        Integer at = positions.get(key(staffId, kind, period));
+        return at == null ? -1 : rates[at];
+    }
+
+    /**
+     * max monthly hours recorded for a part-time payment
+     *
+     * @param staffId staff id
+     * @param kind    record kind
+     * @param period  pay period as year * 12 + month
+     * @return the cap, 0 if not recorded
+     */
+    public int cap(int staffId, Kind kind, int period) {
+        Integer at = positions.get(key(staffId, kind, period));
+        return at == null ? 0 : caps[at];
+    }
+
+    /**
+     * differences between a run and what was recorded for its period
+     *
+     * @param run a computed run
+     * @return one line per staff member whose pay differs, then the net change
+     */
+    public String diff(PayrollRun run) {
+        String s = "";
+        long net = 0;
+        for (int i = 0; i < run.size(); i++) {
+            int id = run.staffIdAt(i);
+            long was = amountPaid(id, run.getKind(), run.getPeriod());
+            long now = run.payAt(i);
+            if (!contains(id, run.getKind(), run.getPeriod())) {
+                s += "Staff #" + id + " not paid, would be paid " + Money.format(now) + "\n";
+            } else if (was != now) {
+                s += "Staff #" + id + " paid " + Money.format(was) + ", would be paid " + Money.format(now) + "\n";
+            }
+            net += now - was;
+        }
+        return s + "Net change: " + Money.format(net);
+    }
+
+    /**
+     * totals paid to each staff member for a year
+     *
+     * @param year the year
+     * @return totals by staff id
+     */
+    public TreeMap<Integer, Totals> yearTotals(int year) {
+        TreeMap<Integer, Totals> totals = new TreeMap<>();
+        int first = year * 12;
+        for (int i = 0; i < size; i++) {
+            if (periods[i] >= first && periods[i] < first + 12) {
+                Totals t = totals.computeIfAbsent(staffIds[i], k -> new Totals());
+                t.hours += hours[i];
+                t.paid += amounts[i];
+            }
+        }
+        return totals;
+    }
+}
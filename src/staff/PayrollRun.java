@@ -0,0 +1,236 @@
+package staff;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import money.Money;
+import time.TimeBlock;
+
+/**
+ * one payroll run over every full-time or part-time staff member for one pay
+ * period: a month for part-time staff, a year for full-time staff.
+ * pay is computed in parallel on the fork/join pool from the hour counters
+ * and salary data without touching the staff, into arrays that can be
+ * written to a statement file, recorded in a PayrollLedger, or compared with
+ * what was recorded before. part-time months whose counters are gone are
+ * re-run from the hours recorded in the ledger.
+ * staff already paid for the period are paid from the rate and cap recorded
+ * then, so a re-run reproduces the period; a what-if run uses current rates
+ * for everyone instead.
+ *
+ * @author Yubo-Zhao
+ * @version 1.0
+ * @since 2025-06-14
+ */
+public class PayrollRun {
+    /** staff per leaf task */
+    private static final int THRESHOLD = 1024;
+
+    /** staff paid in this run */
+    private final ArrayList<Staff> paying = new ArrayList<>();
+    /** kind of pay records */
+    private final PayrollLedger.Kind kind;
+    /** pay period as year * 12 + month (JAN for a full-time year) */
+    private final int period;
+    /** month paid for, any date in it */
+    private final TimeBlock month;
+    /** earlier records, used for hours no longer counted; may be null */
+    private final PayrollLedger history;
+    /** whether to pay at current rates even where a basis was recorded */
+    private final boolean currentRates;
+    /** hours paid for, per staff member */
+    private final double[] hours;
+    /** pay per staff member */
+    private final long[] pay;
+    /** annual salary or hourly wage paid at, per staff member */
+    private final long[] rates;
+    /** max monthly hours paid under, per staff member */
+    private final int[] caps;
+    /** total paid */
+    private long totalPaid;
+
+    /**
+     * create a run for every staff member of a type, paying staff already
+     * recorded for the period at their recorded rates
+     *
+     * @param staffs  all staff
+     * @param type    FullTimeStaff.class or PartTimeStaff.class
+     * @param period  any date in the month (part-time) or year (full-time)
+     *                being paid for
+     * @param history earlier records, or null
+     */
+    public PayrollRun(List<Staff> staffs, Class<? extends Staff> type, TimeBlock period, PayrollLedger history) {
+        this(staffs, type, period, history, false);
+    }
+
+    /**
+     * create a run for every staff member of a type
+     *
+     * @param staffs       all staff
+     * @param type         FullTimeStaff.class or PartTimeStaff.class
+     * @param period       any date in the month (part-time) or year
+     *                     (full-time) being paid for
+     * @param history      earlier records, or null
+     * @param currentRates whether to pay everyone at current rates (what-if)
+     */
+    public PayrollRun(List<Staff> staffs, Class<? extends Staff> type, TimeBlock period, PayrollLedger history,
+            boolean currentRates) {
+        for (Staff s : staffs) {
+            if (type.isInstance(s)) {
+                paying.add(s);
+            }
+        }
+        this.kind = type == FullTimeStaff.class ? PayrollLedger.Kind.FULL_TIME : PayrollLedger.Kind.PART_TIME;
+        this.period = kind == PayrollLedger.Kind.FULL_TIME ? period.getYear() * 12 : Staff.monthKey(period);
+        this.month = period;
+        this.history = history;
+        this.currentRates = currentRates;
+        hours = new double[paying.size()];
+        pay = new long[paying.size()];
+        rates = new long[paying.size()];
+        caps = new int[paying.size()];
+    }
+
+    /**
+     * pay for one staff member for this run, without mutating them
+     *
+     * @param i index of the staff member
+     */
+    private void payFor(int i) {
+        Staff s = paying.get(i);
+        boolean recorded = !currentRates && history != null && history.hasBasis(s.getId(), kind, period);
+        if (s instanceof FullTimeStaff fs) {
+            rates[i] = recorded ? history.rate(s.getId(), kind, period) : fs.calculatePay() * 12;
+            pay[i] = rates[i];
+            return;
+        }
+        PartTimeStaff ps = (PartTimeStaff) s;
+        if (ps.hasHoursIn(month) || history == null) {
+            hours[i] = ps.getWorkedHours(month);
+        } else {
+            hours[i] = history.hoursWorked(ps.getId(), kind, period);
+        }
+        rates[i] = recorded ? history.rate(s.getId(), kind, period) : ps.getHourlySalary();
+        caps[i] = recorded ? history.cap(s.getId(), kind, period) : ps.getMaxMonthlyHours();
+        pay[i] = PartTimeStaff.payForHours(rates[i], caps[i], hours[i]);
+    }
+
+    /** computes pay for a range of staff, returns the total */
+    @SuppressWarnings("serial")
+    private class Compute extends RecursiveTask<Long> {
+        private final int lo;
+        private final int hi;
+
+        Compute(int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Long compute() {
+            if (hi - lo <= THRESHOLD) {
+                for (int i = lo; i < hi; i++) {
+                    payFor(i);
+                }
+                return Money.sum(pay, lo, hi);
+            }
+            int mid = (lo + hi) >>> 1;
+            Compute left = new Compute(lo, mid);
+            left.fork();
+            long right = new Compute(mid, hi).compute();
+            return left.join() + right;
+        }
+    }
+
+    /**
+     * compute pay for every staff member
+     *
+     * @return this run
+     */
+    public PayrollRun compute() {
+        totalPaid = ForkJoinPool.commonPool().invoke(new Compute(0, paying.size()));
+        return this;
+    }
+
+    /**
+     * write the computed run to a statement file
+     *
+     * @param statementPath file to write the statement to
+     */
+    public void write(String statementPath) {
+        File parent = new File(statementPath).getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(statementPath))) {
+            for (int i = 0; i < paying.size(); i++) {
+                Staff s = paying.get(i);
+                bw.write("Staff #" + s.getId() + " " + s.getName() + " was paid " + Money.toPlainString(pay[i]) + "\n");
+            }
+            bw.write("Total paid: " + Money.toPlainString(totalPaid) + "\n");
+        } catch (IOException iox) {
+            System.out.println("Error writing payroll statement: " + iox.getMessage());
+        }
+    }
+
+    /**
+     * compute and write the run
+     *
+     * @param statementPath file to write the statement to
+     */
+    public void run(String statementPath) {
+        compute();
+        write(statementPath);
+    }
+
+    /** get number of staff paid */
+    public int size() {
+        return paying.size();
+    }
+
+    /** get id of the i-th staff member paid */
+    public int staffIdAt(int i) {
+        return paying.get(i).getId();
+    }
+
+    /** get hours the i-th staff member is paid for */
+    public double hoursAt(int i) {
+        return hours[i];
+    }
+
+    /** get pay of the i-th staff member, in cents */
+    public long payAt(int i) {
+        return pay[i];
+    }
+
+    /** get rate the i-th staff member is paid at, in cents */
+    public long rateAt(int i) {
+        return rates[i];
+    }
+
+    /** get max monthly hours the i-th staff member is paid under */
+    public int capAt(int i) {
+        return caps[i];
+    }
+
+    /** get kind of pay records */
+    public PayrollLedger.Kind getKind() {
+        return kind;
+    }
+
+    /** get pay period as year * 12 + month */
+    public int getPeriod() {
+        return period;
+    }
+
+    /** get total paid */
+    public long getTotalPaid() {
+        return totalPaid;
+    }
+}
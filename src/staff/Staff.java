@@ -2,12 +2,15 @@ package staff;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import event.Event;
 import time.Schedule;
 import time.TimeBlock;
 
 /**
  * abstract base for staff: tracks id, name, and shift schedule.
+ * keeps running counts of scheduled and worked hours per month, updated as
+ * shifts are added, cancelled and completed, so caps and pay are O(1) reads.
  * subclasses implement calculatePay() and toPayrollString().
  *
  * @author Yubo-Zhao
@@ -21,6 +24,10 @@ public abstract class Staff {
     protected String name;
     /** schedule of assigned shifts */
     protected Schedule shifts;
+    /** manager indexing this staff member, null if not managed */
+    StaffManager manager;
+    /** {scheduled, worked} hours by month key */
+    private final HashMap<Integer, double[]> hours = new HashMap<>();
 
     /** create staff with name and empty shift schedule */
     public Staff(String name) {
@@ -28,15 +35,140 @@ public abstract class Staff {
         this.shifts = new Schedule();
     }
 
-    /** calculate pay for current period */
-    public abstract double calculatePay();
+    /** calculate pay for current period, in cents */
+    public abstract long calculatePay();
 
     /**
      * schedule a shift; returns false if it conflicts
      * @param event the event to schedule
      */
     public boolean scheduleShift(Event event) {
-        return shifts.add(event);
+        if (!shifts.add(event)) {
+            return false;
+        }
+        if (!event.isCompleted()) {
+            hoursIn(event.getTimeBlock())[0] += event.getTimeBlock().duration();
+        }
+        return true;
+    }
+
+    /**
+     * remove a shift, releasing its hours if it was not yet worked
+     * @param event the event to remove
+     * @return whether it was scheduled
+     */
+    public boolean cancelShift(Event event) {
+        if (!shifts.remove(event)) {
+            return false;
+        }
+        if (!event.isCompleted()) {
+            hoursIn(event.getTimeBlock())[0] -= event.getTimeBlock().duration();
+        }
+        return true;
+    }
+
+    /**
+     * move a shift's hours from scheduled to worked
+     * @param event the completed event
+     */
+    public void completeShift(Event event) {
+        if (shifts.contains(event)) {
+            double[] h = hoursIn(event.getTimeBlock());
+            h[0] -= event.getTimeBlock().duration();
+            h[1] += event.getTimeBlock().duration();
+            payChanged();
+        }
+    }
+
+    /** tell the manager this staff member's pay may have changed */
+    protected void payChanged() {
+        if (manager != null) {
+            manager.payChanged(this);
+        }
+    }
+
+    /**
+     * month a date falls in, as year * 12 + month
+     * @param date the date
+     */
+    static int monthKey(TimeBlock date) {
+        return date.getYear() * 12 + date.getMonth().ordinal();
+    }
+
+    /** counters for the month of a date */
+    private double[] hoursIn(TimeBlock date) {
+        return hours.computeIfAbsent(monthKey(date), k -> new double[2]);
+    }
+
+    /** whether hours are still counted for the month of a date */
+    public boolean hasHoursIn(TimeBlock month) {
+        return hours.containsKey(monthKey(month));
+    }
+
+    /** hours scheduled but not yet worked in the month of a date */
+    public double getScheduledHours(TimeBlock month) {
+        double[] h = hours.get(monthKey(month));
+        return h == null ? 0 : h[0];
+    }
+
+    /** hours worked in the month of a date */
+    public double getWorkedHours(TimeBlock month) {
+        double[] h = hours.get(monthKey(month));
+        return h == null ? 0 : h[1];
+    }
+
+    /** set hours worked in the month of a date */
+    public void setWorkedHours(TimeBlock month, double worked) {
+        hoursIn(month)[1] = worked;
+        payChanged();
+    }
+
+    /** hours scheduled or worked in the month of a date */
+    public double getBookedHours(TimeBlock month) {
+        double[] h = hours.get(monthKey(month));
+        return h == null ? 0 : h[0] + h[1];
+    }
+
+    /**
+     * whether a shift fits within this staff member's monthly hours
+     * @param block the shift's time block
+     */
+    public boolean hasHoursFor(TimeBlock block) {
+        return hasHoursFor(block, null);
+    }
+
+    /**
+     * whether one of this staff member's shifts can move to a block within
+     * their monthly hours
+     * @param block  the new time block
+     * @param moving the shift being moved, or null for a new shift
+     */
+    public boolean hasHoursFor(TimeBlock block, Event moving) {
+        return true;
+    }
+
+    /**
+     * hours scheduled or worked in the month of a date, leaving out a shift
+     * that is being moved
+     * @param month  any date in the month
+     * @param moving the shift being moved, or null
+     */
+    protected double getBookedHours(TimeBlock month, Event moving) {
+        double booked = getBookedHours(month);
+        if (moving != null && !moving.isCompleted() && shifts.contains(moving)
+                && monthKey(moving.getTimeBlock()) == monthKey(month)) {
+            booked -= moving.getTimeBlock().duration();
+        }
+        return booked;
+    }
+
+    /**
+     * forget the counters of months before a date
+     * @param month first month to keep
+     */
+    public void clearHoursBefore(TimeBlock month) {
+        int first = monthKey(month);
+        hours.keySet().removeIf(k -> k < first);
     }
 
     /** return payroll details string */
@@ -82,6 +214,9 @@ public abstract class Staff {
     /** set staff name */
     public void setName(String name) {
         this.name = name;
+        if (manager != null) {
+            manager.renamed(this);
+        }
     }
 
     /** get shift schedule */
@@ -0,0 +1,126 @@
+package staff;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import event.Event;
+import money.Money;
+import time.TimeBlock;
+
+/**
+ * bulk staff assignment for a batch of events.
+ * events are filled in chronological order; each open spot goes to the
+ * cheapest staff member who is free and under their monthly hour cap.
+ * full-time staff are salaried, so they cost nothing extra and are used
+ * before part-time staff, cheapest hourly wage first; ties go to whoever has
+ * the fewest hours that month, which spreads the load.
+ * caps and loads are read from each staff member's monthly hour counters, so
+ * each event costs one pass over the staff.
+ *
+ * @author Yubo-Zhao
+ * @version 1.0
+ * @since 2025-06-14
+ */
+public class StaffAssigner {
+    /** staff to choose from */
+    private final List<Staff> staffs;
+    /** number of shifts assigned */
+    private int assigned;
+    /** part-time wages for the assigned shifts */
+    private long cost;
+    /** events left with fewer staff than wanted */
+    private final ArrayList<Event> unfilled = new ArrayList<>();
+
+    /**
+     * create an assigner over a staff list
+     *
+     * @param staffs staff to choose from
+     */
+    public StaffAssigner(List<Staff> staffs) {
+        this.staffs = staffs;
+    }
+
+    /**
+     * staff events until each has a number of staff supervising
+     *
+     * @param events   events to staff
+     * @param perEvent staff wanted per event
+     * @return number of shifts assigned
+     */
+    public int assign(List<Event> events, int perEvent) {
+        ArrayList<Event> sorted = new ArrayList<>(events);
+        sorted.sort(Comparator.comparingDouble(Event::hoursSinceEpoch));
+        int before = assigned;
+        for (Event event : sorted) {
+            while (event.getSupervising().size() < perEvent) {
+                Staff best = bestFor(event);
+                if (best == null || !event.assignStaff(best)) {
+                    unfilled.add(event);
+                    break;
+                }
+                cost += wageFor(best, event.getTimeBlock().duration());
+                assigned++;
+            }
+        }
+        return assigned - before;
+    }
+
+    /**
+     * cheapest free staff member under their cap for an event
+     *
+     * @param event the event
+     * @return the staff member, or null if nobody can take it
+     */
+    private Staff bestFor(Event event) {
+        TimeBlock block = event.getTimeBlock();
+        double duration = block.duration();
+        Staff best = null;
+        long bestCost = 0;
+        double bestHours = 0;
+        for (Staff s : staffs) {
+            if (!s.hasHoursFor(block)) {
+                continue;
+            }
+            double booked = s.getBookedHours(block);
+            long c = wageFor(s, duration);
+            // only check the schedule of staff who would beat the current best
+            if (best != null && (c > bestCost || c == bestCost && booked >= bestHours)) {
+                continue;
+            }
+            if (event.getSupervising().contains(s) || !s.isAvailable(block)) {
+                continue;
+            }
+            best = s;
+            bestCost = c;
+            bestHours = booked;
+        }
+        return best;
+    }
+
+    /**
+     * extra wages for a shift
+     *
+     * @param s        staff member
+     * @param duration shift length in hours
+     * @return wage in cents, 0 for salaried staff
+     */
+    private static long wageFor(Staff s, double duration) {
+        return s instanceof PartTimeStaff ps ? Money.times(ps.getHourlySalary(), duration) : 0;
+    }
+
+    /** get number of shifts assigned */
+    public int getAssigned() {
+        return assigned;
+    }
+
+    /** get part-time wages for the assigned shifts, in cents */
+    public long getCost() {
+        return cost;
+    }
+
+    /** get events left with fewer staff than wanted */
+    public ArrayList<Event> getUnfilled() {
+        return unfilled;
+    }
+}
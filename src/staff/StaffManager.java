@@ -1,13 +1,17 @@
 package staff;
 
-import static java.util.Collections.*;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+
+import event.Event;
+import money.Money;
+import search.NameIndex;
 import time.TimeBlock;
 
 /**
@@ -15,6 +19,7 @@ import time.TimeBlock;
  * find available staff, and list names alphabetically.
  * file format: numStaff, id, type (fulltime/parttime), name,
  * then yearsWorked for fulltime or hoursWorked, hourlySalary, maxWeeklyHours for parttime.
+ * hoursWorked is this month's; scheduled hours are rebuilt as events load.
  *
  * @author Yubo-Zhao
  * @version 1.0
@@ -23,6 +28,14 @@ import time.TimeBlock;
 public class StaffManager {
     /** list of all staff members */
     private ArrayList<Staff> staffs;
+    /** prefix and fuzzy name index */
+    private NameIndex<Staff> names = new NameIndex<>();
+    /** staff sorted by pay and by name */
+    private StaffViews views = new StaffViews();
+    /** what was paid for each pay period */
+    private PayrollLedger payroll = new PayrollLedger();
+    /** weeks of committed shifts costed in the payroll listing */
+    public static final int PROJECTION_WEEKS = 4;
 
     /** create empty staff manager */
     public StaffManager() {
@@ -49,13 +62,15 @@ public class StaffManager {
                     FullTimeStaff full = new FullTimeStaff(name, yearsWorked);
                     full.setId(id);
                     staffs.add(full);
+                    track(full);
                 } else if (type.equals("parttime")) {
                     double hoursWorked = Double.parseDouble(br.readLine().trim());
-                    double hourlyRate = Double.parseDouble(br.readLine().trim());
+                    long hourlyRate = Money.parse(br.readLine());
                     int maxWeeklyHours = Integer.parseInt(br.readLine().trim());
                     PartTimeStaff part = new PartTimeStaff(name, hoursWorked, hourlyRate, maxWeeklyHours);
                     part.setId(id);
                     staffs.add(part);
+                    track(part);
                 }
             }
             br.close();
@@ -84,7 +99,7 @@ public class StaffManager {
                     bw.write(fts.getYearsWorked() + "\n");
                 } else if (staff instanceof PartTimeStaff pts) {
                     bw.write(pts.getHoursWorked() + "\n");
-                    bw.write(pts.getHourlySalary() + "\n");
+                    bw.write(Money.toPlainString(pts.getHourlySalary()) + "\n");
                     bw.write(pts.getMaxMonthlyHours() + "\n");
                 }
             }
@@ -102,6 +117,48 @@ public class StaffManager {
     public void addStaff(Staff staff) {
         staff.setId(generateId());
         staffs.add(staff);
+        track(staff);
+    }
+
+    /**
+     * start indexing a staff member by name
+     *
+     * @param staff staff member
+     */
+    private void track(Staff staff) {
+        staff.manager = this;
+        names.add(staff, staff.getName());
+        views.update(staff);
+    }
+
+    /**
+     * stop indexing a removed staff member
+     *
+     * @param staff staff member
+     */
+    private void untrack(Staff staff) {
+        staff.manager = null;
+        names.remove(staff);
+        views.remove(staff);
+    }
+
+    /**
+     * re-index a staff member whose name changed
+     *
+     * @param staff staff member
+     */
+    void renamed(Staff staff) {
+        names.rename(staff, staff.getName());
+        views.update(staff);
+    }
+
+    /**
+     * re-sort a staff member whose pay may have changed
+     *
+     * @param staff staff member
+     */
+    void payChanged(Staff staff) {
+        views.update(staff);
     }
 
     /** generate next unique id */
@@ -132,28 +189,42 @@ public class StaffManager {
      * @return matching staff or null
      */
     public Staff searchByName(String name) {
-        for (Staff s : staffs) {
-            if (s.name.equalsIgnoreCase(name)) {
-                return s;
-            }
-        }
-        return null;
+        List<Staff> found = names.exact(name);
+        return found.isEmpty() ? null : found.get(0);
     }
 
     /**
-     * search by id or name
+     * search by id or name; a name may also be the start of exactly one
+     * staff member's name (first or any later word)
      *
-     * @param idOrName id string or full name
+     * @param idOrName id string, full name or unique name prefix
      * @return matching staff or null
      */
     public Staff searchByIdOrName(String idOrName) {
         try {
             return searchById(Integer.parseInt(idOrName));
         } catch (NumberFormatException ignored) {
-            return searchByName(idOrName);
+            Staff staff = searchByName(idOrName);
+            if (staff != null) {
+                return staff;
+            }
+            List<Staff> found = names.prefix(idOrName, 2);
+            return found.size() == 1 ? found.get(0) : null;
         }
     }
 
+    /**
+     * ranked name search: exact matches, then name prefixes, then close
+     * spellings
+     *
+     * @param query name or part of a name
+     * @param limit maximum number of results
+     * @return matching staff, best first
+     */
+    public List<Staff> searchNames(String query, int limit) {
+        return names.search(query, limit);
+    }
+
     /**
      * recursive helper for binary search by id
      *
@@ -201,9 +272,60 @@ public class StaffManager {
         if (staffs.isEmpty()) {
             return false;
         }
-        for (Staff s : staffs) {
-            System.out.println(s.toPayrollString());
+        WorkloadProjection projection = projectWorkload(PROJECTION_WEEKS);
+        for (Staff s : views.byPay()) {
+            int row = projection.rowOf(s);
+            System.out.println(s.toPayrollString() + " | Projected cost (" + PROJECTION_WEEKS + " weeks): "
+                    + Money.format(projection.projectedCost(row))
+                    + (projection.isOverCap(row) ? " | Over monthly hours" : ""));
         }
+        System.out.println("Projected cost of all staff (" + PROJECTION_WEEKS + " weeks): "
+                + Money.format(projection.getTotalCost()));
+        return true;
+    }
+
+    /**
+     * committed hours and cost of every staff member from now over a number
+     * of weeks
+     *
+     * @param weeks number of weeks
+     * @return the projection
+     */
+    public WorkloadProjection projectWorkload(int weeks) {
+        TimeBlock now = main.CommunityCentreRunner.getTimeManager().getCurrentTime();
+        return new WorkloadProjection(staffs, now, weeks);
+    }
+
+    /**
+     * print each staff member's committed hours per week and per month from
+     * now, flagging part-time staff going over their monthly hours
+     *
+     * @param weeks number of weeks
+     * @return whether printed
+     */
+    public boolean printWorkload(int weeks) {
+        if (staffs.isEmpty()) {
+            return false;
+        }
+        WorkloadProjection projection = projectWorkload(weeks);
+        for (int i = 0; i < projection.size(); i++) {
+            Staff s = projection.staffAt(i);
+            String line = "Staff #" + s.getId() + " " + s.getName() + " | Weeks:";
+            for (int w = 0; w < projection.getWeeks(); w++) {
+                line += " " + projection.weekHours(i, w);
+            }
+            line += " | Months:";
+            for (int m = 0; m < projection.getMonths(); m++) {
+                TimeBlock month = projection.monthAt(m);
+                line += " " + month.getMonth() + " " + projection.monthHours(i, m);
+            }
+            line += " | Projected cost: " + Money.format(projection.projectedCost(i));
+            if (projection.isOverCap(i)) {
+                line += " | Over monthly hours in " + projection.monthAt(projection.overCapMonth(i)).getMonth();
+            }
+            System.out.println(line);
+        }
+        System.out.println("Projected cost of all staff: " + Money.format(projection.getTotalCost()));
         return true;
     }
 
@@ -223,6 +345,20 @@ public class StaffManager {
         return available;
     }
 
+    /**
+     * assign staff in bulk to events short of staff, cheapest first and
+     * within part-time monthly hour caps
+     *
+     * @param events   events to staff
+     * @param perEvent staff wanted per event
+     * @return the finished assignment, with its cost and any events left short
+     */
+    public StaffAssigner autoAssign(List<Event> events, int perEvent) {
+        StaffAssigner assigner = new StaffAssigner(staffs);
+        assigner.assign(events, perEvent);
+        return assigner;
+    }
+
     /**
      * print staff names alphabetically
      *
@@ -232,62 +368,145 @@ public class StaffManager {
         if (staffs.isEmpty()) {
             return false;
         }
-        ArrayList<String> sortedNames = new ArrayList<>();
-        for (Staff s : staffs) {
-            sortedNames.add(s.getName());
-        }
-        sort(sortedNames);
-        for (String name : sortedNames) {
-            System.out.println(name);
+        for (Staff s : views.byName()) {
+            System.out.println(s.getName());
         }
         return true;
     }
 
-    /** pay all full-time staff */
+    /** pay all full-time staff for the year just ended */
     public void payFullTimeStaff() {
-        for (Staff s : staffs) {
-            if (s instanceof FullTimeStaff fs) {
-                System.out.printf("Staff #%d %s was paid %.2f\n",
-                                  fs.getId(), fs.getName(), fs.calculatePay() * 12);
-            }
-        }
+        TimeBlock now = main.CommunityCentreRunner.getTimeManager().getCurrentTime();
+        pay(FullTimeStaff.class, "fulltime", new TimeBlock(now.getYear() - 1, TimeBlock.Month.JAN, 1));
     }
 
-    /** pay all part-time staff */
+    /** pay all part-time staff for the hours worked last month */
     public void payPartTimeStaff() {
-        for (Staff s : staffs) {
-            if (s instanceof PartTimeStaff ps) {
-                System.out.printf("Staff #%d %s was paid %.2f\n",
-                                  ps.getId(), ps.getName(), ps.calculatePay());
-            }
+        TimeBlock now = main.CommunityCentreRunner.getTimeManager().getCurrentTime();
+        TimeBlock lastMonth = now.getMonth() == TimeBlock.Month.JAN
+                ? new TimeBlock(now.getYear() - 1, TimeBlock.Month.DEC, 1)
+                : new TimeBlock(now.getYear(), TimeBlock.Month.values()[now.getMonth().ordinal() - 1], 1);
+        pay(PartTimeStaff.class, "parttime", lastMonth);
+    }
+
+    /**
+     * run payroll for one staff type, record it and write its statement file
+     *
+     * @param type   staff class being paid
+     * @param label  type name used in the file name
+     * @param period month (part-time) or year (full-time) being paid for
+     */
+    private void pay(Class<? extends Staff> type, String label, TimeBlock period) {
+        String path = main.CommunityCentreRunner.STATEMENTS_DIRECTORY + "payroll-" + label + "-" + period.getYear()
+                + (type == PartTimeStaff.class ? "-" + period.getMonth() : "") + ".txt";
+        PayrollRun run = new PayrollRun(staffs, type, period, payroll);
+        run.run(path);
+        payroll.record(run);
+        System.out.printf("Paid %d %s staff %s, statement: %s\n", run.size(), label, Money.format(run.getTotalPaid()),
+                path);
+    }
+
+    /**
+     * compute payroll for a past or current period again, without paying it.
+     * staff already paid for the period are paid at the rates recorded then,
+     * so only changed hours show up
+     *
+     * @param type   FullTimeStaff.class or PartTimeStaff.class
+     * @param period month (part-time) or year (full-time) to compute
+     * @return the computed run
+     */
+    public PayrollRun rerunPayroll(Class<? extends Staff> type, TimeBlock period) {
+        return new PayrollRun(staffs, type, period, payroll).compute();
+    }
+
+    /**
+     * compute what a period would have cost at current salaries, wages and
+     * caps, without paying it
+     *
+     * @param type   FullTimeStaff.class or PartTimeStaff.class
+     * @param period month (part-time) or year (full-time) to compute
+     * @return the computed run
+     */
+    public PayrollRun rerunPayrollAtCurrentRates(Class<? extends Staff> type, TimeBlock period) {
+        return new PayrollRun(staffs, type, period, payroll, true).compute();
+    }
+
+    /**
+     * print how a re-run of a period differs from what was paid
+     *
+     * @param type   FullTimeStaff.class or PartTimeStaff.class
+     * @param period month (part-time) or year (full-time) to compare
+     */
+    public void printPayrollDiff(Class<? extends Staff> type, TimeBlock period) {
+        System.out.println(payroll.diff(rerunPayroll(type, period)));
+    }
+
+    /**
+     * print how a period would differ from what was paid at current rates
+     *
+     * @param type   FullTimeStaff.class or PartTimeStaff.class
+     * @param period month (part-time) or year (full-time) to compare
+     */
+    public void printPayrollDiffAtCurrentRates(Class<? extends Staff> type, TimeBlock period) {
+        System.out.println(payroll.diff(rerunPayrollAtCurrentRates(type, period)));
+    }
+
+    /**
+     * print what each staff member was paid over a year
+     *
+     * @param year the year
+     * @return whether anything was paid
+     */
+    public boolean printYearEndReport(int year) {
+        TreeMap<Integer, PayrollLedger.Totals> totals = payroll.yearTotals(year);
+        if (totals.isEmpty()) {
+            return false;
+        }
+        long sum = 0;
+        for (var e : totals.entrySet()) {
+            Staff s = searchById(e.getKey());
+            System.out.println("Staff #" + e.getKey() + (s == null ? "" : " " + s.getName()) + " | Hours worked: "
+                    + e.getValue().hours + " | Paid: " + Money.format(e.getValue().paid));
+            sum += e.getValue().paid;
         }
+        System.out.println("Total paid in " + year + ": " + Money.format(sum));
+        return true;
     }
 
-    /** reset hours for all part-time staff */
+    /** start the new month at zero hours, keeping a year of monthly counters */
     public void resetPartTimeStaffHours() {
+        TimeBlock now = main.CommunityCentreRunner.getTimeManager().getCurrentTime();
+        TimeBlock yearAgo = new TimeBlock(now.getYear() - 1, now.getMonth(), 1);
         for (Staff s : staffs) {
-            if (s instanceof PartTimeStaff ps) {
-                ps.setHoursWorked(0);
-            }
+            s.clearHoursBefore(yearAgo);
+            // part-time pay now reads the new month
+            views.update(s);
         }
         System.out.println("Hours reset for part-time staff.");
     }
 
+    /** get payroll records */
+    public PayrollLedger getPayroll() {
+        return payroll;
+    }
+
+    /**
+     * set payroll records
+     *
+     * @param payroll records loaded from file
+     */
+    public void setPayroll(PayrollLedger payroll) {
+        this.payroll = payroll;
+    }
+
     /** increase years worked for all full-time staff */
     public void increaseYearsWorked() {
         for (Staff s : staffs) {
             if (s instanceof FullTimeStaff fs) {
                 fs.setYearsWorked(fs.getYearsWorked() + 1);
-                System.out.println("Years of experience increased for full-time staff.");
             }
         }
-    }
-
-    /** sort by descending pay then by name */
-    public void sortByPayThenName() {
-        sort(staffs, Comparator.comparingDouble(Staff::calculatePay)
-                             .reversed()
-                             .thenComparing(Staff::getName, String.CASE_INSENSITIVE_ORDER));
+        System.out.println("Years of experience increased for full-time staff.");
     }
 
     /** get staff list */
@@ -302,6 +521,11 @@ public class StaffManager {
      */
     public void setStaffs(ArrayList<Staff> staffs) {
         this.staffs = staffs;
+        names.clear();
+        views.clear();
+        for (Staff s : staffs) {
+            track(s);
+        }
     }
 
     /**
@@ -313,7 +537,12 @@ public class StaffManager {
     public boolean removeStaff(int id) {
         for (int i = 0; i < staffs.size(); i++) {
             if (staffs.get(i).getId() == id) {
-                staffs.remove(i);
+                Staff target = staffs.remove(i);
+                untrack(target);
+                // only visit the events this staff member supervises
+                for (Event event : target.getShifts().getEventSchedule()) {
+                    event.getSupervising().remove(target);
+                }
                 return true;
             }
         }
@@ -0,0 +1,101 @@
+package staff;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.TreeMap;
+
+/**
+ * staff kept in two sorted orders next to the id-ordered list: by pay
+ * (highest first, then name) and by name.
+ * each staff member's key (pay, name, id) is kept as it was when filed, so
+ * they can be found and re-filed when their pay or name changes, and
+ * listings are in-order walks instead of sorts.
+ *
+ * @author Yubo-Zhao
+ * @version 1.0
+ * @since 2025-06-14
+ */
+class StaffViews {
+    /** sort key, as filed */
+    private static class Key {
+        final long pay;
+        final String name;
+        final int id;
+
+        Key(Staff staff) {
+            this.pay = staff.calculatePay();
+            this.name = staff.getName();
+            this.id = staff.getId();
+        }
+
+        boolean sameAs(Key other) {
+            return other != null && pay == other.pay && id == other.id && name.equals(other.name);
+        }
+    }
+
+    private static final Comparator<Key> BY_NAME = Comparator
+            .comparing((Key k) -> k.name, String.CASE_INSENSITIVE_ORDER)
+            .thenComparingInt(k -> k.id);
+    private static final Comparator<Key> BY_PAY = Comparator
+            .comparingLong((Key k) -> -k.pay)
+            .thenComparing(BY_NAME);
+
+    /** staff by pay, highest first, then name */
+    private final TreeMap<Key, Staff> byPay = new TreeMap<>(BY_PAY);
+    /** staff by name */
+    private final TreeMap<Key, Staff> byName = new TreeMap<>(BY_NAME);
+    /** each staff member's key */
+    private final IdentityHashMap<Staff, Key> keys = new IdentityHashMap<>();
+
+    /**
+     * add a staff member, or re-file them after their pay or name changed
+     *
+     * @param staff staff member
+     */
+    void update(Staff staff) {
+        Key old = keys.get(staff);
+        Key key = new Key(staff);
+        if (key.sameAs(old)) {
+            return;
+        }
+        if (old != null) {
+            byPay.remove(old);
+            byName.remove(old);
+        }
+        keys.put(staff, key);
+        byPay.put(key, staff);
+        byName.put(key, staff);
+    }
+
+    /**
+     * remove a staff member
+     *
+     * @param staff staff member
+     */
+    void remove(Staff staff) {
+        Key old = keys.remove(staff);
+        if (old != null) {
+            byPay.remove(old);
+            byName.remove(old);
+        }
+    }
+
+    /** remove every staff member */
+    void clear() {
+        byPay.clear();
+        byName.clear();
+        keys.clear();
+    }
+
+    /** get staff by pay, highest first, then name */
+    Collection<Staff> byPay() {
+        return Collections.unmodifiableCollection(byPay.values());
+    }
+
+    /** get staff by name */
+    Collection<Staff> byName() {
+        return Collections.unmodifiableCollection(byName.values());
+    }
+}
@@ -0,0 +1,227 @@
+package staff;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import event.Event;
+import money.Money;
+import time.TimeBlock;
+
+/**
+ * committed hours per staff member per week and per month over a horizon,
+ * with the cost of those hours.
+ * built in one time-ordered sweep: each staff member's shifts in the horizon
+ * are a sorted run from their schedule, and the runs are merged through a
+ * priority queue, so every shift is visited once, in start order, and only
+ * shifts inside the horizon are read.
+ * part-time staff whose worked and committed hours for a month go over
+ * maxMonthlyHours are flagged; their cost is capped the way pay is.
+ * full-time cost is the monthly salary spread over the horizon's days.
+ *
+ * @author Yubo-Zhao
+ * @version 1.0
+ * @since 2025-06-14
+ */
+public class WorkloadProjection {
+    private static final int HOURS_IN_WEEK = 7 * TimeBlock.HOURS_IN_DAY;
+    private static final double DAYS_IN_MONTH = TimeBlock.DAYS_IN_YEAR / 12.0;
+
+    /** staff projected, in the order given */
+    private final List<Staff> staffs;
+    /** row of each staff member */
+    private final IdentityHashMap<Staff, Integer> rows = new IdentityHashMap<>();
+    /** start of the horizon */
+    private final TimeBlock from;
+    /** number of weeks projected */
+    private final int weeks;
+    /** month key of the horizon's first month */
+    private final int firstMonth;
+    /** number of months the horizon touches */
+    private final int months;
+    /** committed hours by staff row and week */
+    private final double[][] weekHours;
+    /** committed hours by staff row and month */
+    private final double[][] monthHours;
+    /** projected cost by staff row, in cents */
+    private final long[] costs;
+    /** first month each staff row goes over its cap, -1 if none */
+    private final int[] overCapMonth;
+
+    /** one staff member's shifts in the horizon, read in start order */
+    private static class Run {
+        final int row;
+        final List<Event> events;
+        int next;
+
+        Run(int row, List<Event> events) {
+            this.row = row;
+            this.events = events;
+        }
+
+        double start() {
+            return events.get(next).hoursSinceEpoch();
+        }
+    }
+
+    /**
+     * project staff workload from a date
+     *
+     * @param staffs staff to project
+     * @param from   start of the horizon
+     * @param weeks  number of weeks to project
+     */
+    public WorkloadProjection(List<Staff> staffs, TimeBlock from, int weeks) {
+        this.staffs = staffs;
+        this.from = from;
+        this.weeks = weeks;
+        TimeBlock range = new TimeBlock(from, from.getStartHour(), (double) weeks * HOURS_IN_WEEK);
+        this.firstMonth = Staff.monthKey(from);
+        this.months = Staff.monthKey(TimeBlock.fromHoursSinceEpoch(range.getEndBlock().hoursSinceEpoch() - 1e-9))
+                - firstMonth + 1;
+        this.weekHours = new double[staffs.size()][weeks];
+        this.monthHours = new double[staffs.size()][Math.max(months, 0)];
+        this.costs = new long[staffs.size()];
+        this.overCapMonth = new int[staffs.size()];
+
+        PriorityQueue<Run> runs = new PriorityQueue<>(Math.max(staffs.size(), 1),
+                (a, b) -> Double.compare(a.start(), b.start()));
+        for (int i = 0; i < staffs.size(); i++) {
+            rows.put(staffs.get(i), i);
+            List<Event> events = staffs.get(i).getShifts().eventsWithin(range);
+            if (!events.isEmpty()) {
+                runs.add(new Run(i, events));
+            }
+        }
+        sweep(runs, from.hoursSinceEpoch());
+        for (int i = 0; i < staffs.size(); i++) {
+            finish(i);
+        }
+    }
+
+    /**
+     * visit every shift in start order, adding its hours to its week and month
+     *
+     * @param runs  each staff member's shifts
+     * @param start start of the horizon in hours since epoch
+     */
+    private void sweep(PriorityQueue<Run> runs, double start) {
+        while (!runs.isEmpty()) {
+            Run run = runs.poll();
+            Event event = run.events.get(run.next++);
+            if (!event.isCompleted()) {
+                TimeBlock block = event.getTimeBlock();
+                int week = (int) ((block.hoursSinceEpoch() - start) / HOURS_IN_WEEK);
+                weekHours[run.row][Math.min(week, weeks - 1)] += block.duration();
+                monthHours[run.row][Staff.monthKey(block) - firstMonth] += block.duration();
+            }
+            if (run.next < run.events.size()) {
+                runs.add(run);
+            }
+        }
+    }
+
+    /**
+     * work out a staff member's cost and cap flag from their month totals
+     *
+     * @param row staff row
+     */
+    private void finish(int row) {
+        Staff s = staffs.get(row);
+        overCapMonth[row] = -1;
+        if (!(s instanceof PartTimeStaff ps)) {
+            costs[row] = Money.times(s.calculatePay(), weeks * 7 / DAYS_IN_MONTH);
+            return;
+        }
+        for (int m = 0; m < months; m++) {
+            double worked = s.getWorkedHours(monthAt(m));
+            double committed = monthHours[row][m];
+            if (overCapMonth[row] < 0 && worked + committed > ps.getMaxMonthlyHours()) {
+                overCapMonth[row] = m;
+            }
+            costs[row] += ps.payForHours(worked + committed) - ps.payForHours(worked);
+        }
+    }
+
+    /** get number of staff projected */
+    public int size() {
+        return staffs.size();
+    }
+
+    /** get staff member at a row */
+    public Staff staffAt(int row) {
+        return staffs.get(row);
+    }
+
+    /**
+     * row of a staff member
+     *
+     * @param staff staff member
+     * @return the row, -1 if not projected
+     */
+    public int rowOf(Staff staff) {
+        Integer row = rows.get(staff);
+        return row == null ? -1 : row;
+    }
+
+    /** get start of the horizon */
+    public TimeBlock getFrom() {
+        return from;
+    }
+
+    /** get number of weeks projected */
+    public int getWeeks() {
+        return weeks;
+    }
+
+    /** get number of months the horizon touches */
+    public int getMonths() {
+        return months;
+    }
+
+    /**
+     * first day of a month of the horizon
+     *
+     * @param m month index, 0 for the horizon's first month
+     * @return the date
+     */
+    public TimeBlock monthAt(int m) {
+        int key = firstMonth + m;
+        return new TimeBlock(key / 12, TimeBlock.Month.values()[key % 12], 1);
+    }
+
+    /** committed hours of a staff row in a week of the horizon */
+    public double weekHours(int row, int week) {
+        return weekHours[row][week];
+    }
+
+    /** committed hours of a staff row in a month of the horizon */
+    public double monthHours(int row, int m) {
+        return monthHours[row][m];
+    }
+
+    /** projected cost of a staff row over the horizon, in cents */
+    public long projectedCost(int row) {
+        return costs[row];
+    }
+
+    /** whether a staff row goes over its monthly hours in the horizon */
+    public boolean isOverCap(int row) {
+        return overCapMonth[row] >= 0;
+    }
+
+    /**
+     * first month a staff row goes over its monthly hours
+     *
+     * @param row staff row
+     * @return the month index, -1 if none
+     */
+    public int overCapMonth(int row) {
+        return overCapMonth[row];
+    }
+
+    /** projected cost of every staff member over the horizon, in cents */
+    public long getTotalCost() {
+        return Money.sum(costs, 0, costs.length);
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * Recurring is a booking on a repeating pattern whose occurrences are worked
+ * out when asked for, instead of being stored one by one in a schedule
+ * 
+ * @author Sean Yang
+ * @since June 14, 2025
+ */
+
+package time;
+
+import java.util.ArrayList;
+
+public interface Recurring {
+    /**
+     * finds the occurrences starting within [from, to) that are still held by
+     * the pattern
+     * 
+     * @param from hours since epoch, inclusive
+     * @param to   hours since epoch, exclusive
+     * @return the occurrences in chronological order
+     */
+    ArrayList<TimeBlock> occurrencesBetween(double from, double to);
+}
@@ -8,21 +8,63 @@
 package time;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.TreeMap;
 
 import event.Event;
 
 public class Schedule {
-    private ArrayList<Event> eventSchedule;
+    // events bucketed by start time (hours since epoch), equal starts share a bucket
+    private TreeMap<Double, ArrayList<Event>> eventSchedule;
+    // the start time each event was filed under, so removal never has to search
+    private IdentityHashMap<Event, Double> filedAt;
+    // repeating bookings, expanded only for the times being checked
+    private ArrayList<Recurring> recurring;
+    // the longest duration ever filed, bounding how far back an overlapping event can start
+    private double longest;
 
     /**
      * constructor
      */
     public Schedule() {
-        eventSchedule = new ArrayList<>();
+        eventSchedule = new TreeMap<>();
+        filedAt = new IdentityHashMap<>();
+        recurring = new ArrayList<>();
     }
 
+    /**
+     * returns the events in chronological order
+     * 
+     * @return a new ArrayList of the events
+     */
     public ArrayList<Event> getEventSchedule() {
-        return this.eventSchedule;
+        ArrayList<Event> events = new ArrayList<>(filedAt.size());
+
+        for (ArrayList<Event> bucket : eventSchedule.values()) {
+            events.addAll(bucket);
+        }
+
+        return events;
+    }
+
+    /**
+     * the number of events in the schedule
+     * 
+     * @return the size
+     */
+    public int size() {
+        return filedAt.size();
+    }
+
+    /**
+     * whether the schedule contains an event
+     * 
+     * @param event
+     * @return whether the event is filed in this schedule
+     */
+    public boolean contains(Event event) {
+        return filedAt.containsKey(event);
     }
 
     /**
@@ -32,56 +74,67 @@ public class Schedule {
      * @return whether this block does not conflict with any other time blocks
      */
     public boolean isBlockFree(TimeBlock timeBlock) {
-        for (Event event : eventSchedule) {
-            if (event.getTimeBlock().isConflicting(timeBlock)) {
+        return isBlockFree(timeBlock, null);
+    }
+
+    /**
+     * whether this block is free within the schedule, ignoring one event (used
+     * when an event is being moved within its own schedules)
+     * 
+     * @param timeBlock
+     * @param ignore    the event to skip
+     * @return whether the block does not conflict with any other event
+     */
+    public boolean isBlockFree(TimeBlock timeBlock, Event ignore) {
+        // time blocks only conflict on the same day
+        for (Event event : eventsOn(timeBlock)) {
+            if (event != ignore && event.getTimeBlock().isConflicting(timeBlock)) {
                 return false;
             }
         }
 
+        double dayStart = timeBlock.hoursSinceEpoch() - timeBlock.getStartHour();
+        for (Recurring r : recurring) {
+            for (TimeBlock occurrence : r.occurrencesBetween(dayStart, dayStart + TimeBlock.HOURS_IN_DAY)) {
+                if (occurrence.isConflicting(timeBlock)) {
+                    return false;
+                }
+            }
+        }
+
         return true;
     }
 
     /**
-     * returns the correct position to insert a target time block using binary
-     * search
+     * finds all events starting on the same day as a time block
      * 
-     * @param target
-     * @return the index to insert at
+     * @param timeBlock
+     * @return the events in chronological order
      */
-    private int binarySearch(TimeBlock target) {
-        if (eventSchedule.size() <= 0) {
-            return 0;
-        }
-
-        return binarySearch(0, eventSchedule.size() - 1, target);
+    private ArrayList<Event> eventsOn(TimeBlock timeBlock) {
+        double dayStart = timeBlock.hoursSinceEpoch() - timeBlock.getStartHour();
+        return eventsBetween(dayStart, dayStart + TimeBlock.HOURS_IN_DAY);
     }
 
     /**
-     * recursive method to serach for the correct position to insert
+     * finds all events starting within [from, to)
      * 
-     * @param hi     the upper bound
-     * @param lo     the lower bound
-     * @param target
-     * @return the index
+     * @param from hours since epoch, inclusive
+     * @param to   hours since epoch, exclusive
+     * @return the events in chronological order
      */
-    private int binarySearch(int lo, int hi, TimeBlock target) {
-        if (lo >= hi) {
-            return (eventSchedule.get(lo).getTimeBlock().compareToStart(target) > 0) ? lo + 1 : lo;
-        }
-
-        int mid = lo + (hi - lo) / 2;
+    private ArrayList<Event> eventsBetween(double from, double to) {
+        ArrayList<Event> events = new ArrayList<>();
 
-        double comp = eventSchedule.get(mid).getTimeBlock().compareToStart(target);
+        if (from >= to) {
+            return events;
+        }
 
-        if (comp == 0) {
-            return mid;
-        } else if (comp > 0) {
-            lo = mid + 1;
-        } else {
-            hi = mid;
+        for (ArrayList<Event> bucket : eventSchedule.subMap(from, true, to, false).values()) {
+            events.addAll(bucket);
         }
 
-        return binarySearch(lo, hi, target);
+        return events;
     }
 
     /**
@@ -92,24 +145,22 @@ public class Schedule {
      */
     public ArrayList<TimeBlock> freeBlocksWithin(TimeBlock range) {
         ArrayList<TimeBlock> blocks = new ArrayList<>();
+        ArrayList<TimeBlock> events = busyWithin(range);
 
-        int lo = binarySearch(range);
-        int hi = binarySearch(range.getEndBlock()) - 1;
-
-        if (lo > hi) {
+        if (events.isEmpty()) {
             blocks.add(new TimeBlock(range, range.getStartHour(), range.duration()));
             return blocks;
         }
 
-        double hoursUntilLo = range.getStartBlock().hoursUntil(eventSchedule.get(lo).getTimeBlock());
+        double hoursUntilLo = range.getStartBlock().hoursUntil(events.get(0));
 
         if (hoursUntilLo > 0) {
             blocks.add(new TimeBlock(range, range.getStartHour(), hoursUntilLo));
         }
 
-        for (int i = lo; i < hi; i++) {
-            TimeBlock curr = eventSchedule.get(i).getTimeBlock();
-            TimeBlock next = eventSchedule.get(i + 1).getTimeBlock();
+        for (int i = 0; i < events.size() - 1; i++) {
+            TimeBlock curr = events.get(i);
+            TimeBlock next = events.get(i + 1);
 
             double hoursBetween = curr.hoursUntil(next);
 
@@ -118,30 +169,95 @@ public class Schedule {
             }
         }
 
-        double hoursAfterHi = eventSchedule.get(hi).getTimeBlock().hoursUntil(range.getEndBlock());
+        TimeBlock last = events.get(events.size() - 1);
+        double hoursAfterHi = last.hoursUntil(range.getEndBlock());
 
         if (hoursAfterHi > 0) {
-            blocks.add(new TimeBlock(range, eventSchedule.get(hi).getTimeBlock().getEndHour(), hoursAfterHi));
+            blocks.add(new TimeBlock(range, last.getEndHour(), hoursAfterHi));
         }
 
         return blocks;
     }
 
+    /**
+     * finds the time blocks of all events and repeating bookings within a time
+     * range
+     * 
+     * @param range
+     * @return the time blocks in chronological order
+     */
+    private ArrayList<TimeBlock> busyWithin(TimeBlock range) {
+        ArrayList<TimeBlock> busy = new ArrayList<>();
+
+        for (Event event : eventsWithin(range)) {
+            busy.add(event.getTimeBlock());
+        }
+
+        if (!recurring.isEmpty()) {
+            double from = range.hoursSinceEpoch();
+            double to = range.getEndBlock().hoursSinceEpoch();
+            for (Recurring r : recurring) {
+                busy.addAll(r.occurrencesBetween(from, to));
+            }
+            busy.sort(Comparator.comparingDouble(TimeBlock::hoursSinceEpoch));
+        }
+
+        return busy;
+    }
+
+    /**
+     * adds a repeating booking to the schedule. Its occurrences are not checked
+     * against the schedule here, the caller does that over the pattern's span.
+     * 
+     * @param r
+     * @return whether it was added
+     */
+    public boolean addRecurring(Recurring r) {
+        if (recurring.contains(r)) {
+            return false;
+        }
+
+        recurring.add(r);
+        return true;
+    }
+
+    /**
+     * removes a repeating booking from the schedule
+     * 
+     * @param r
+     * @return whether it was in the schedule
+     */
+    public boolean removeRecurring(Recurring r) {
+        return recurring.remove(r);
+    }
+
     /**
      * finds all events within a time range
      * 
      * @param range
-     * @return an ArrayList of events which start and end within the range
+     * @return an ArrayList of events which start within the range
      */
     public ArrayList<Event> eventsWithin(TimeBlock range) {
-        ArrayList<Event> events = new ArrayList<>();
+        return eventsBetween(range.hoursSinceEpoch(), range.getEndBlock().hoursSinceEpoch());
+    }
 
-        int lo = binarySearch(range);
-        int hi = binarySearch(range.getEndBlock()) - 1;
+    /**
+     * finds all events overlapping a time range, including ones that started
+     * before it and run into it
+     * 
+     * @param range
+     * @return the events in chronological order
+     */
+    public ArrayList<Event> eventsOverlapping(TimeBlock range) {
+        double from = range.hoursSinceEpoch();
+        ArrayList<Event> events = new ArrayList<>();
 
-        for (int i = lo; i <= hi; i++) {
-            events.add(eventSchedule.get(i));
+        for (Event event : eventsBetween(from - longest, from)) {
+            if (event.hoursSinceEpoch() + event.getTimeBlock().duration() > from) {
+                events.add(event);
+            }
         }
+        events.addAll(eventsWithin(range));
 
         return events;
     }
@@ -153,14 +269,15 @@ public class Schedule {
      * @return whether the addition succeeded
      */
     public boolean add(Event event) {
-        if (eventSchedule.isEmpty()) {
-            eventSchedule.add(event);
-            return true;
+        if (filedAt.containsKey(event)) {
+            return false;
         }
 
         if (isBlockFree(event.getTimeBlock())) {
-            int idx = binarySearch(event.getTimeBlock());
-            eventSchedule.add(idx, event);
+            double start = event.hoursSinceEpoch();
+            eventSchedule.computeIfAbsent(start, k -> new ArrayList<>()).add(event);
+            filedAt.put(event, start);
+            longest = Math.max(longest, event.getTimeBlock().duration());
             return true;
         }
 
@@ -168,17 +285,26 @@ public class Schedule {
     }
 
     /**
-     * removes from an event from the schedule if it exists
+     * removes from an event from the schedule if it exists.
+     * The event is found by the time it was filed under, so this works even if
+     * several events share a start time or the event's time block has changed.
      * 
      * @param event
      * @return whether it was successfully cancelled
      */
     public boolean remove(Event event) {
-        if (eventSchedule.get(binarySearch(event.getTimeBlock())) == event) {
-            eventSchedule.remove(event);
-            return true;
+        Double start = filedAt.remove(event);
+
+        if (start == null) {
+            return false;
         }
 
-        return false;
+        ArrayList<Event> bucket = eventSchedule.get(start);
+        bucket.remove(event);
+        if (bucket.isEmpty()) {
+            eventSchedule.remove(start);
+        }
+
+        return true;
     }
 }
@@ -21,6 +21,8 @@ public class TimeBlock {
     private final int day;
     private final double startHour;
     private final double endHour;
+    // cached hours since epoch at the start, computed on first use
+    private double startSinceEpoch = Double.NaN;
 
     public static final int DAYS_IN_YEAR = 365;
     public static final Map<Month, Integer> DAYS_BEFORE_MONTH;
@@ -216,7 +218,11 @@ public class TimeBlock {
      * @return a double, the number of hours
      */
     private double hoursBeforeStart() {
-        return hoursBeforeYear(year) + hoursBeforeMonth(month, year) + (day - 1) * HOURS_IN_DAY + startHour;
+        if (Double.isNaN(startSinceEpoch)) {
+            startSinceEpoch = hoursBeforeYear(year) + hoursBeforeMonth(month, year) + (day - 1) * HOURS_IN_DAY
+                    + startHour;
+        }
+        return startSinceEpoch;
     }
 
     /**
@@ -229,6 +235,32 @@ public class TimeBlock {
         return hoursBeforeYear(year) + hoursBeforeMonth(month, year) + (day - 1) * HOURS_IN_DAY + endHour;
     }
 
+    /**
+     * creates a time block (without duration) from a number of hours since JAN 1,
+     * 1970 00:00
+     * 
+     * @param hours the number of hours
+     * @return the time block
+     */
+    public static TimeBlock fromHoursSinceEpoch(double hours) {
+        int year = 1970;
+        while (hours >= (DAYS_IN_YEAR + (isLeapYear(year) ? 1 : 0)) * HOURS_IN_DAY) {
+            hours -= (DAYS_IN_YEAR + (isLeapYear(year) ? 1 : 0)) * HOURS_IN_DAY;
+            year++;
+        }
+
+        Month month = Month.JAN;
+        while (month != Month.DEC && hours >= hoursBeforeMonth(nextMonth(month), year)) {
+            month = nextMonth(month);
+        }
+        hours -= hoursBeforeMonth(month, year);
+
+        int day = (int) (hours / HOURS_IN_DAY) + 1;
+        hours -= (day - 1) * HOURS_IN_DAY;
+
+        return new TimeBlock(year, month, day, hours);
+    }
+
     public boolean isValid() {
         if (year < 0) {
             return false;
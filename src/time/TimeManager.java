@@ -91,8 +91,13 @@ public class TimeManager {
             time = time.nextDay();
             newHour -= 24;
 
+            // promote youths whose 18th birthday is today
+            main.CommunityCentreRunner.getMemberManager().promoteYouths();
+
             if (prev_month != time.getMonth()) {
                 System.out.println("-------- NEW MONTH: " + time.getMonth()+" --------");
+                // finish last month's events first so their hours are paid
+                main.CommunityCentreRunner.getEventManager().advanceTime(new TimeBlock(time, 0, 0));
                 // bill monthly members
                 main.CommunityCentreRunner.getMemberManager().billMonthlyMembers();
                 // pay part-time staff
@@ -103,8 +108,6 @@ public class TimeManager {
             }
             if (prev_year != time.getYear()) {
                 System.out.println("NEW YEAR: " + time.getYear());
-                // age members
-                main.CommunityCentreRunner.getMemberManager().ageMembers();
                 // bill yearly members
                 main.CommunityCentreRunner.getMemberManager().billAnnualMembers();
                 // increase years worked for full-time staff